@@ -0,0 +1,85 @@
+// 바코드 서버 부하 테스트 (k6)
+// 고정 도착률(open model)로 요청을 보내므로 서버가 느려져도 부하가 줄지 않아 꼬리 지연(p99)이 그대로 드러납니다.
+//
+// 실행: k6 run -e BASE_URL=http://localhost:9830 -e RATE=500 -e DURATION=3m loadtest/barcode-load.js
+// 스레드 모델 비교는 loadtest/compare.sh 를 사용합니다.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9830';
+const RATE = parseInt(__ENV.RATE || '300', 10);
+const DURATION = __ENV.DURATION || '2m';
+const LABEL = __ENV.LABEL || 'run';
+
+const serverErrors = new Counter('server_errors');
+
+export const options = {
+  scenarios: {
+    mixed: {
+      executor: 'constant-arrival-rate',
+      rate: RATE,
+      timeUnit: '1s',
+      duration: DURATION,
+      preAllocatedVUs: Math.max(50, RATE),
+      maxVUs: RATE * 4,
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+  thresholds: {
+    'http_req_failed': ['rate<0.01'],
+  },
+};
+
+const TYPES = ['EAN13', 'UPC', 'QR', 'Code128'];
+
+function randomValue() {
+  return '880' + Math.floor(Math.random() * 1e10).toString().padStart(10, '0');
+}
+
+// 부하 발생기 하나에서 모든 요청이 같은 주소로 나가므로 VU마다 클라이언트 ID를 붙여 클라이언트별 동시성 한도를 나눕니다
+function params(name) {
+  return { headers: { 'X-Client-Id': `k6-${__VU}` }, tags: { name } };
+}
+
+function jsonParams(name) {
+  return { headers: { 'Content-Type': 'application/json', 'X-Client-Id': `k6-${__VU}` }, tags: { name } };
+}
+
+export default function () {
+  const roll = Math.random();
+  let res;
+  if (roll < 0.4) {
+    // 스캔 직후 단건 조회 (대부분 캐시/Bloom filter 미스)
+    res = http.get(`${BASE_URL}/api/barcodes/value/${randomValue()}`, params('getByValue'));
+    check(res, { 'getByValue 200/404': (r) => r.status === 200 || r.status === 404 });
+  } else if (roll < 0.6) {
+    res = http.get(`${BASE_URL}/api/barcodes?size=20`, params('listFirstPage'));
+    check(res, { 'list 200': (r) => r.status === 200 });
+  } else if (roll < 0.75) {
+    const values = Array.from({ length: 50 }, randomValue);
+    res = http.post(`${BASE_URL}/api/barcodes/exists`, JSON.stringify({ barcodeValues: values }), jsonParams('existsBulk'));
+    check(res, { 'exists 200': (r) => r.status === 200 });
+  } else if (roll < 0.95) {
+    const body = { barcodeValue: randomValue(), barcodeType: TYPES[Math.floor(Math.random() * TYPES.length)], phoneModel: `k6-${LABEL}` };
+    res = http.post(`${BASE_URL}/api/barcodes`, JSON.stringify(body), jsonParams('create'));
+    check(res, { 'create 201/409': (r) => r.status === 201 || r.status === 409 });
+  } else {
+    const batch = Array.from({ length: 20 }, () => ({ barcodeValue: randomValue(), barcodeType: 'EAN13', phoneModel: `k6-${LABEL}` }));
+    res = http.post(`${BASE_URL}/api/barcodes/batch?mode=upsert`, JSON.stringify(batch), jsonParams('batchUpsert'));
+    check(res, { 'batch 201': (r) => r.status === 201 });
+  }
+  if (res.status >= 500) {
+    serverErrors.add(1);
+  }
+}
+
+export function handleSummary(data) {
+  return {
+    [`loadtest/results/${LABEL}-summary.json`]: JSON.stringify(data, null, 2),
+    stdout: `\n[${LABEL}] p95=${data.metrics.http_req_duration.values['p(95)'].toFixed(1)}ms `
+      + `p99=${data.metrics.http_req_duration.values['p(99)'].toFixed(1)}ms `
+      + `rps=${data.metrics.http_reqs.values.rate.toFixed(1)} `
+      + `failed=${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`,
+  };
+}
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# MVC + MyBatis(플랫폼 스레드, 가상 스레드)와 WebFlux + R2DBC 서버를 같은 동시 클라이언트 수로 번갈아 측정하고,
+# 측정 중 5초마다 스레드 수와 DB 커넥션 사용량을 기록합니다.
+# 사용: ./loadtest/compare-reactive.sh [VUS] [DURATION]   (BarcodeServer 디렉터리에서 실행, DB 환경변수 필요)
+# k6가 VUS개의 연결을 열 수 있도록 ulimit -n 을 충분히 올려 둡니다 (예: ulimit -n 65535).
+set -euo pipefail
+
+VUS="${1:-5000}"
+DURATION="${2:-3m}"
+
+mkdir -p loadtest/results
+./gradlew -q bootJar :reactive:bootJar
+MVC_JAR="$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+REACTIVE_JAR="$(ls reactive/build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+
+# 측정 중 자원 사용량 기록 (CSV: 시각, 라이브 스레드, 사용 중 커넥션, 커넥션 대기)
+sample_resources() {
+  local url="$1" out="$2"
+  echo "time,threads,connectionsActive,connectionsPending" > "${out}"
+  while true; do
+    local metrics
+    metrics="$(curl -sf "${url}/actuator/prometheus" || true)"
+    local threads active pending
+    threads="$(echo "${metrics}" | awk '/^jvm_threads_live_threads/ {print $2; exit}')"
+    active="$(echo "${metrics}" | awk '/^(hikaricp_connections_active|r2dbc_pool_acquired_connections)\{/ {sum += $2} END {print sum + 0}')"
+    pending="$(echo "${metrics}" | awk '/^(hikaricp_connections_pending|r2dbc_pool_pending_connections)\{/ {sum += $2} END {print sum + 0}')"
+    echo "$(date +%s),${threads},${active},${pending}" >> "${out}"
+    sleep 5
+  done
+}
+
+run_server() {
+  local label="$1" port="$2"
+  shift 2
+  echo "=== ${label} (${VUS} clients) ==="
+  "$@" > "loadtest/results/${label}-server.log" 2>&1 &
+  local pid=$!
+  trap 'kill ${pid} ${sampler:-} 2>/dev/null || true' EXIT
+
+  local url="http://localhost:${port}"
+  until curl -sf "${url}/actuator/health" > /dev/null; do sleep 1; done
+  k6 run -q -e BASE_URL="${url}" -e VUS="$((VUS / 10))" -e DURATION=30s -e LABEL="${label}-warmup" loadtest/concurrency-load.js > /dev/null
+
+  sample_resources "${url}" "loadtest/results/${label}-resources.csv" &
+  sampler=$!
+  k6 run -e BASE_URL="${url}" -e VUS="${VUS}" -e DURATION="${DURATION}" -e LABEL="${label}" loadtest/concurrency-load.js || true
+
+  kill "${sampler}" "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  trap - EXIT
+  echo "최대 스레드/사용 커넥션/커넥션 대기: $(awk -F, 'NR > 1 {if ($2 > t) t = $2; if ($3 > a) a = $3; if ($4 > p) p = $4} END {print t "/" a "/" p}' "loadtest/results/${label}-resources.csv")"
+}
+
+run_server mvc-platform 9830 env APP_VIRTUAL_THREADS=false java -jar "${MVC_JAR}" --server.port=9830
+run_server mvc-virtual 9830 env APP_VIRTUAL_THREADS=true java -jar "${MVC_JAR}" --server.port=9830
+run_server reactive 9831 java -jar "${REACTIVE_JAR}" --server.port=9831
+
+echo "결과: loadtest/results/{mvc-platform,mvc-virtual,reactive}-{summary.json,resources.csv}"
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# 플랫폼 스레드(Tomcat 풀)와 가상 스레드 모드를 같은 부하로 번갈아 측정합니다.
+# 사용: ./loadtest/compare.sh [RATE] [DURATION]   (BarcodeServer 디렉터리에서 실행, DB 환경변수 필요)
+set -euo pipefail
+
+RATE="${1:-500}"
+DURATION="${2:-3m}"
+PORT="${SERVER_PORT:-9830}"
+BASE_URL="http://localhost:${PORT}"
+
+mkdir -p loadtest/results
+./gradlew -q bootJar
+JAR="$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+
+run_mode() {
+  local label="$1" virtual="$2"
+  echo "=== ${label} (spring.threads.virtual.enabled=${virtual}) ==="
+  APP_VIRTUAL_THREADS="${virtual}" java -jar "${JAR}" --server.port="${PORT}" > "loadtest/results/${label}-server.log" 2>&1 &
+  local pid=$!
+  trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+  until curl -sf "${BASE_URL}/actuator/health" > /dev/null; do sleep 1; done
+  # 워밍업 후 본 측정
+  k6 run -q -e BASE_URL="${BASE_URL}" -e RATE="$((RATE / 5))" -e DURATION=30s -e LABEL="${label}-warmup" loadtest/barcode-load.js > /dev/null
+  k6 run -e BASE_URL="${BASE_URL}" -e RATE="${RATE}" -e DURATION="${DURATION}" -e LABEL="${label}" loadtest/barcode-load.js
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo "결과: loadtest/results/platform-summary.json, loadtest/results/virtual-summary.json"
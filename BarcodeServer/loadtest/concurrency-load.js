@@ -0,0 +1,71 @@
+// 동시 클라이언트 수 부하 테스트 (k6, closed model)
+// VUS개의 클라이언트가 각각 요청 → 응답 → 대기(THINK_MS)를 반복합니다. 동시 연결 수를 고정하여
+// MVC(스레드/커넥션 점유)와 WebFlux(이벤트 루프) 서버의 스레드 수와 DB 커넥션 사용량을 비교합니다.
+// 두 서버가 모두 제공하는 엔드포인트만 사용합니다.
+//
+// 실행: k6 run -e BASE_URL=http://localhost:9831 -e VUS=5000 -e DURATION=3m loadtest/concurrency-load.js
+// 서버 비교는 loadtest/compare-reactive.sh 를 사용합니다.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:9830';
+const VUS = parseInt(__ENV.VUS || '5000', 10);
+const DURATION = __ENV.DURATION || '3m';
+const THINK_MS = parseInt(__ENV.THINK_MS || '200', 10);
+const LABEL = __ENV.LABEL || 'run';
+
+export const options = {
+  scenarios: {
+    clients: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: VUS },
+        { duration: DURATION, target: VUS },
+      ],
+      gracefulRampDown: '10s',
+    },
+  },
+  summaryTrendStats: ['avg', 'med', 'p(90)', 'p(95)', 'p(99)', 'max'],
+};
+
+// 부하 발생기 하나에서 모든 요청이 같은 주소로 나가므로 VU마다 클라이언트 ID를 붙여 클라이언트별 동시성 한도를 나눕니다
+function params(name, contentType) {
+  const headers = { 'X-Client-Id': `k6-${__VU}` };
+  if (contentType) {
+    headers['Content-Type'] = contentType;
+  }
+  return { headers, tags: { name } };
+}
+
+function randomValue() {
+  return '880' + Math.floor(Math.random() * 1e10).toString().padStart(10, '0');
+}
+
+export default function () {
+  const roll = Math.random();
+  let res;
+  if (roll < 0.6) {
+    res = http.get(`${BASE_URL}/api/barcodes/value/${randomValue()}`, params('getByValue'));
+    check(res, { 'getByValue 200/404': (r) => r.status === 200 || r.status === 404 });
+  } else if (roll < 0.9) {
+    res = http.get(`${BASE_URL}/api/barcodes?cursor=&size=20`, params('listFirstPage'));
+    check(res, { 'list 200': (r) => r.status === 200 });
+  } else {
+    const batch = Array.from({ length: 20 }, () => ({ barcodeValue: randomValue(), barcodeType: 'EAN13', phoneModel: `k6-${LABEL}` }));
+    res = http.post(`${BASE_URL}/api/barcodes/batch?mode=upsert`, JSON.stringify(batch),
+      params('batchUpsert', 'application/json'));
+    check(res, { 'batch 201': (r) => r.status === 201 });
+  }
+  sleep(THINK_MS / 1000 * (0.5 + Math.random()));
+}
+
+export function handleSummary(data) {
+  return {
+    [`loadtest/results/${LABEL}-summary.json`]: JSON.stringify(data, null, 2),
+    stdout: `\n[${LABEL}] vus=${VUS} p95=${data.metrics.http_req_duration.values['p(95)'].toFixed(1)}ms `
+      + `p99=${data.metrics.http_req_duration.values['p(99)'].toFixed(1)}ms `
+      + `rps=${data.metrics.http_reqs.values.rate.toFixed(1)} `
+      + `failed=${(data.metrics.http_req_failed.values.rate * 100).toFixed(2)}%\n`,
+  };
+}
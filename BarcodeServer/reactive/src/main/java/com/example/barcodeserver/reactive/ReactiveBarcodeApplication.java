@@ -0,0 +1,18 @@
+package com.example.barcodeserver.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * WebFlux + R2DBC로 구현한 바코드 API 서버.
+ * MVC + MyBatis 서버와 같은 /api/barcodes 계약의 일부(조회, 목록, 내보내기, 생성, 배치/대량 적재)를 제공하며,
+ * 같은 부하에서 스레드/커넥션 사용량을 비교하기 위한 용도입니다 (reactive/README.md).
+ */
+@SpringBootApplication
+public class ReactiveBarcodeApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveBarcodeApplication.class, args);
+    }
+
+}
@@ -0,0 +1,213 @@
+package com.example.barcodeserver.reactive;
+
+import com.example.barcodeserver.dto.ApiResult;
+import com.example.barcodeserver.dto.BarcodeCursor;
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.PageResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * MVC 서버의 BarcodeController와 같은 경로/응답 형식의 반응형 구현.
+ * 요청 스레드를 막지 않으므로 적은 수의 이벤트 루프 스레드로 많은 동시 연결을 처리하며,
+ * DB 동시 사용량은 R2DBC 커넥션 풀(spring.r2dbc.pool.max-size)이 제한합니다.
+ */
+@RestController
+@RequestMapping("/api/barcodes")
+@CrossOrigin(origins = "*")
+public class ReactiveBarcodeController {
+
+    @Autowired
+    private ReactiveBarcodeRepository barcodeRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${app.batch.maxSize:100}")
+    private int maxBatchSize;
+
+    @Value("${app.bulk.chunkSize:1000}")
+    private int bulkChunkSize;
+
+    @PostMapping
+    public Mono<ResponseEntity<ApiResult<BarcodeDto>>> createBarcode(@Valid @RequestBody BarcodeDto barcodeDto) {
+        return barcodeRepository.currentTime()
+                .flatMap(now -> {
+                    prepare(barcodeDto, now);
+                    return barcodeRepository.insert(barcodeDto);
+                })
+                .map(barcodeId -> {
+                    barcodeDto.setBarcodeId(barcodeId);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(ApiResult.ok("Barcode created successfully", barcodeDto));
+                })
+                .onErrorResume(DuplicateKeyException.class, e ->
+                        Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error("Barcode already exists"))));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<ApiResult<Void>>> createBarcodes(
+            @RequestBody List<BarcodeDto> barcodes,
+            @RequestParam(defaultValue = "insert") String mode) {
+        if (barcodes.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResult.error("Barcode list cannot be empty")));
+        }
+        if (barcodes.size() > maxBatchSize) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResult.error("Batch size exceeds maximum allowed: " + maxBatchSize + ". Current size: " + barcodes.size())));
+        }
+        Boolean upsert = parseIngestMode(mode);
+        if (upsert == null) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResult.error("Unsupported mode: " + mode + " (insert, upsert)")));
+        }
+
+        for (BarcodeDto barcode : barcodes) {
+            validate(barcode);
+        }
+        return barcodeRepository.currentTime()
+                .flatMap(now -> {
+                    barcodes.forEach(barcode -> prepare(barcode, now));
+                    return barcodeRepository.insertAll(barcodes, upsert);
+                })
+                .map(rows -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResult.<Void>ok("Barcodes created successfully", null, barcodes.size())))
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResult.error("Batch contains existing barcode values; retry with mode=upsert to skip them"))));
+    }
+
+    /**
+     * NDJSON 본문을 읽는 대로 청크로 묶어 저장합니다. 저장 중인 청크가 끝나야 다음 청크를 요청하므로(concatMap)
+     * DB가 느리면 본문 읽기도 멈추고 TCP 흐름 제어로 클라이언트 전송이 늦춰집니다 (메모리에는 최대 두 청크).
+     * 오류 이전 청크는 이미 저장되어 있습니다.
+     */
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson"})
+    public Mono<ResponseEntity<ApiResult<Void>>> bulkIngestBarcodes(
+            @RequestBody Flux<BarcodeDto> barcodes,
+            @RequestParam(defaultValue = "insert") String mode) {
+        Boolean upsert = parseIngestMode(mode);
+        if (upsert == null) {
+            return Mono.just(ResponseEntity.badRequest().body(ApiResult.error("Unsupported mode: " + mode + " (insert, upsert)")));
+        }
+        return barcodes
+                .doOnNext(this::validate)
+                .buffer(bulkChunkSize)
+                .concatMap(chunk -> barcodeRepository.currentTime().flatMap(now -> {
+                    chunk.forEach(barcode -> prepare(barcode, now));
+                    return barcodeRepository.insertAll(chunk, upsert);
+                }), 1)
+                .reduce(0L, Long::sum)
+                .map(rows -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResult.<Void>ok("Bulk ingest finished", null, rows.intValue())))
+                .onErrorResume(DuplicateKeyException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(ApiResult.error("Bulk contains existing barcode values; retry with mode=upsert to skip them"))));
+    }
+
+    @GetMapping("/{barcodeId}")
+    public Mono<ResponseEntity<ApiResult<BarcodeDto>>> getBarcodeById(@PathVariable Long barcodeId) {
+        return barcodeRepository.findById(barcodeId)
+                .map(barcode -> ResponseEntity.ok(ApiResult.of(barcode)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error("Barcode not found")));
+    }
+
+    @GetMapping("/value/{barcodeValue}")
+    public Mono<ResponseEntity<ApiResult<BarcodeDto>>> getBarcodeByValue(@PathVariable String barcodeValue) {
+        return barcodeRepository.findByValue(barcodeValue)
+                .map(barcode -> ResponseEntity.ok(ApiResult.of(barcode)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error("Barcode not found")));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<PageResult<BarcodeDto>>> getAllBarcodes(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        int pageSize = size > 100 ? 100 : size < 1 ? 50 : size;
+        int pageNumber = Math.max(page, 0);
+
+        if (cursor != null) {
+            BarcodeCursor after = cursor.isBlank() ? null : BarcodeCursor.decode(cursor);
+            Mono<List<BarcodeDto>> rows = barcodeRepository.findAfterCursor(after, pageSize + 1).collectList();
+            Mono<Integer> total = includeTotal ? barcodeRepository.countAll() : Mono.just(-1);
+            return Mono.zip(rows, total).map(result -> {
+                List<BarcodeDto> barcodes = result.getT1();
+                boolean hasNext = barcodes.size() > pageSize;
+                if (hasNext) {
+                    barcodes = barcodes.subList(0, pageSize);
+                }
+                String nextCursor = hasNext ? BarcodeCursor.of(barcodes.get(barcodes.size() - 1)).encode() : null;
+                Integer totalElements = result.getT2() >= 0 ? result.getT2() : null;
+                return ResponseEntity.ok(PageResult.of(barcodes, PageResult.Pagination.ofCursor(pageSize, nextCursor, totalElements)));
+            });
+        }
+
+        int offset = pageNumber * pageSize;
+        // 건수와 행을 함께 조회합니다. 건수만 보고 빈 페이지로 끝내면 그 사이 추가된 행을 놓칠 수 있습니다
+        return Mono.zip(barcodeRepository.findPage(offset, pageSize).collectList(), barcodeRepository.countAll())
+                .map(result -> ResponseEntity.ok(PageResult.of(result.getT1(),
+                        PageResult.Pagination.ofPage(pageNumber, pageSize, result.getT2()))));
+    }
+
+    /**
+     * NDJSON 스트리밍 내보내기. 클라이언트가 읽는 속도만큼만 DB에서 행을 가져옵니다.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BarcodeDto> exportBarcodes(
+            @RequestParam(required = false) String barcodeType,
+            @RequestParam(required = false) String status) {
+        return barcodeRepository.streamAll(barcodeType, status);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiResult<Void>> handleBindException(WebExchangeBindException ex) {
+        String errors = ex.getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        return ResponseEntity.badRequest().body(ApiResult.error("입력 값 검증에 실패했습니다: " + errors));
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ApiResult<Void>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ResponseEntity.badRequest().body(ApiResult.error("잘못된 요청입니다: " + ex.getMessage()));
+    }
+
+    private void validate(BarcodeDto barcode) {
+        Set<ConstraintViolation<BarcodeDto>> violations = validator.validate(barcode);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .collect(Collectors.joining(", ")) + " (" + barcode.getBarcodeValue() + ")");
+        }
+    }
+
+    private static void prepare(BarcodeDto barcode, LocalDateTime now) {
+        barcode.setCreatedDate(now);
+        if (barcode.getStatus() == null) {
+            barcode.setStatus("ACTIVE");
+        }
+    }
+
+    private static Boolean parseIngestMode(String mode) {
+        if ("upsert".equalsIgnoreCase(mode)) {
+            return true;
+        }
+        if ("insert".equalsIgnoreCase(mode)) {
+            return false;
+        }
+        return null;
+    }
+}
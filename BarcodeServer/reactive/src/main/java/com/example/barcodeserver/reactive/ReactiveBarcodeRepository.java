@@ -0,0 +1,167 @@
+package com.example.barcodeserver.reactive;
+
+import com.example.barcodeserver.dto.BarcodeCursor;
+import com.example.barcodeserver.dto.BarcodeDto;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * barcodes 테이블 R2DBC 접근. SQL은 BarcodeMapper.xml과 같은 인덱스를 타도록 같은 형태로 작성합니다.
+ */
+@Repository
+public class ReactiveBarcodeRepository {
+
+    private static final String COLUMNS =
+            "barcode_id, barcode_value, barcode_type, phone_model, status, created_date, updated_date";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<BarcodeDto> findById(long barcodeId) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM barcodes WHERE barcode_id = :barcodeId")
+                .bind("barcodeId", barcodeId)
+                .map(ReactiveBarcodeRepository::toBarcode)
+                .one();
+    }
+
+    // 고정 길이 해시 UNIQUE 인덱스 사용
+    public Mono<BarcodeDto> findByValue(String barcodeValue) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM barcodes WHERE barcode_value_hash = UNHEX(SHA2(:barcodeValue, 256))")
+                .bind("barcodeValue", barcodeValue)
+                .map(ReactiveBarcodeRepository::toBarcode)
+                .one();
+    }
+
+    public Flux<BarcodeDto> findPage(int offset, int limit) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM barcodes ORDER BY created_date DESC LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveBarcodeRepository::toBarcode)
+                .all();
+    }
+
+    /**
+     * (created_date, barcode_id) 커서 이후의 행을 최신순으로 조회합니다. cursor가 null이면 첫 페이지입니다.
+     */
+    public Flux<BarcodeDto> findAfterCursor(BarcodeCursor cursor, int limit) {
+        if (cursor == null) {
+            return databaseClient.sql("SELECT " + COLUMNS + " FROM barcodes ORDER BY created_date DESC, barcode_id DESC LIMIT :limit")
+                    .bind("limit", limit)
+                    .map(ReactiveBarcodeRepository::toBarcode)
+                    .all();
+        }
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM barcodes"
+                        + " WHERE created_date < :createdDate OR (created_date = :createdDate AND barcode_id < :barcodeId)"
+                        + " ORDER BY created_date DESC, barcode_id DESC LIMIT :limit")
+                .bind("createdDate", cursor.getCreatedDate())
+                .bind("barcodeId", cursor.getBarcodeId())
+                .bind("limit", limit)
+                .map(ReactiveBarcodeRepository::toBarcode)
+                .all();
+    }
+
+    /**
+     * 전체 개수 (COUNT(*)). barcode_stats는 MVC 서버의 쓰기만 반영하므로 이 서버의 쓰기가 빠진 값이 되어 사용하지 않습니다.
+     */
+    public Mono<Integer> countAll() {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM barcodes")
+                .map(row -> row.get("total", Long.class).intValue())
+                .one();
+    }
+
+    /**
+     * 내보내기용 조회. 구독자의 요청량만큼 행을 받아 오므로 결과 크기와 무관하게 메모리 사용량이 일정합니다.
+     */
+    public Flux<BarcodeDto> streamAll(String barcodeType, String status) {
+        StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM barcodes WHERE 1 = 1");
+        if (barcodeType != null && !barcodeType.isEmpty()) {
+            sql.append(" AND barcode_type = :barcodeType");
+        }
+        if (status != null && !status.isEmpty()) {
+            sql.append(" AND status = :status");
+        }
+        sql.append(" ORDER BY created_date DESC");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        if (barcodeType != null && !barcodeType.isEmpty()) {
+            spec = spec.bind("barcodeType", barcodeType);
+        }
+        if (status != null && !status.isEmpty()) {
+            spec = spec.bind("status", status);
+        }
+        return spec.map(ReactiveBarcodeRepository::toBarcode).all();
+    }
+
+    /**
+     * DB 시계의 현재 시각 (DATETIME 정밀도에 맞춰 초 단위). 삽입 시 created_date로 바인딩하여 저장 값과 응답이 같도록 합니다.
+     */
+    public Mono<LocalDateTime> currentTime() {
+        return databaseClient.sql("SELECT NOW() AS now")
+                .map(row -> row.get("now", LocalDateTime.class))
+                .one();
+    }
+
+    /**
+     * 단건 삽입 후 생성된 barcode_id를 반환합니다.
+     */
+    public Mono<Long> insert(BarcodeDto barcode) {
+        return bindRow(databaseClient.sql("INSERT INTO barcodes (barcode_value, barcode_type, phone_model, status, created_date)"
+                        + " VALUES (?, ?, ?, ?, ?)"), 0, barcode)
+                .filter(statement -> statement.returnGeneratedValues("barcode_id"))
+                .map(row -> row.get("barcode_id", Long.class))
+                .one();
+    }
+
+    /**
+     * 다중 VALUES INSERT 한 문장으로 저장합니다. upsert면 barcode_value_hash UNIQUE 충돌 행은 그대로 둡니다.
+     */
+    public Mono<Long> insertAll(List<BarcodeDto> barcodes, boolean upsert) {
+        StringBuilder sql = new StringBuilder("INSERT INTO barcodes (barcode_value, barcode_type, phone_model, status, created_date) VALUES ");
+        for (int i = 0; i < barcodes.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?)");
+        }
+        if (upsert) {
+            sql.append(" ON DUPLICATE KEY UPDATE barcode_id = barcode_id");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        int index = 0;
+        for (BarcodeDto barcode : barcodes) {
+            spec = bindRow(spec, index, barcode);
+            index += 5;
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * created_date는 currentTime()으로 받은 DB 시각을 바인딩합니다 (변경 동기화 horizon과 같은 DB 시계).
+     */
+    private static DatabaseClient.GenericExecuteSpec bindRow(DatabaseClient.GenericExecuteSpec spec, int index, BarcodeDto barcode) {
+        spec = spec.bind(index, barcode.getBarcodeValue())
+                .bind(index + 1, barcode.getBarcodeType());
+        spec = barcode.getPhoneModel() != null
+                ? spec.bind(index + 2, barcode.getPhoneModel())
+                : spec.bindNull(index + 2, String.class);
+        return spec.bind(index + 3, barcode.getStatus())
+                .bind(index + 4, barcode.getCreatedDate());
+    }
+
+    private static BarcodeDto toBarcode(Readable row) {
+        BarcodeDto barcode = new BarcodeDto();
+        barcode.setBarcodeId(row.get("barcode_id", Long.class));
+        barcode.setBarcodeValue(row.get("barcode_value", String.class));
+        barcode.setBarcodeType(row.get("barcode_type", String.class));
+        barcode.setPhoneModel(row.get("phone_model", String.class));
+        barcode.setStatus(row.get("status", String.class));
+        barcode.setCreatedDate(row.get("created_date", LocalDateTime.class));
+        barcode.setUpdatedDate(row.get("updated_date", LocalDateTime.class));
+        return barcode;
+    }
+}
@@ -7,24 +7,78 @@ USE barcodeServer;
 CREATE TABLE IF NOT EXISTS barcodes (
     barcode_id BIGINT AUTO_INCREMENT PRIMARY KEY,
     barcode_value VARCHAR(500) NOT NULL,  -- 서버 validation: 최대 500자
+    barcode_value_hash BINARY(32) AS (UNHEX(SHA2(barcode_value, 256))) STORED,  -- 값 조회/중복 판정용 고정 길이 해시
     barcode_type VARCHAR(50) NOT NULL,    -- 지원 타입: QR, Code128, EAN13, UPC, DataMatrix, PDF417, Code39, Code93, ITF, Codabar, Aztec, MaxiCode
     phone_model VARCHAR(100),             -- 서버 validation: 최대 100자
     status VARCHAR(20) DEFAULT 'ACTIVE',  -- ACTIVE 또는 INACTIVE
     created_date DATETIME DEFAULT CURRENT_TIMESTAMP,
     updated_date DATETIME DEFAULT NULL ON UPDATE CURRENT_TIMESTAMP,
+    modified_date DATETIME AS (COALESCE(updated_date, created_date)) STORED,  -- 변경 동기화(/sync) 위치
+    barcode_value_head VARCHAR(64) AS (LEFT(barcode_value, 64)) STORED,  -- 부분 문자열 검색 대상 (앞 64자)
     
     -- 기본 인덱스
-    INDEX idx_barcode_value (barcode_value),
-    INDEX idx_barcode_type (barcode_type),
-    INDEX idx_phone_model (phone_model),
-    INDEX idx_status (status),
-    INDEX idx_created_date (created_date),
+    -- barcode_type, phone_model, status, created_date 단일 열 조회는 아래 복합 인덱스의 앞부분으로 처리하므로
+    -- 단일 열 인덱스를 따로 두지 않습니다 (쓰기마다 갱신할 인덱스 수를 줄임)
+    UNIQUE INDEX uk_barcode_value_hash (barcode_value_hash),
+    INDEX idx_barcode_value_prefix (barcode_value(32)),  -- 바코드 값 접두어 검색용
+    INDEX idx_modified_date (modified_date, barcode_id),
     
     -- 성능 최적화를 위한 복합 인덱스
-    INDEX idx_status_type_created (status, barcode_type, created_date DESC),
+    INDEX idx_status_type_created (status, barcode_type, created_date DESC),  -- 타입+상태 내보내기
     INDEX idx_type_phone_model (barcode_type, phone_model),
-    INDEX idx_status_created (status, created_date DESC),
-    INDEX idx_phone_created (phone_model, created_date DESC)
+    INDEX idx_phone_created (phone_model, created_date DESC),
+    
+    -- 목록 요약 조회(fields=summary)용 커버링 인덱스: barcode_id, barcode_type, status, created_date만으로 응답
+    -- 등호 조건 열 바로 뒤에 created_date를 두어 정렬(filesort) 없이 최신순으로 읽습니다
+    INDEX idx_type_created_status (barcode_type, created_date DESC, status),
+    INDEX idx_status_created_type (status, created_date DESC, barcode_type),
+    INDEX idx_created_summary (created_date, barcode_id, barcode_type, status),
+    
+    -- 부분 문자열 검색용 ngram 전문 검색 인덱스 (ngram_token_size 기본값 2)
+    -- ngram은 값 길이만큼 토큰을 만드므로 500자 barcode_value 대신 앞 64자만 색인하여 행당 토큰을 63개 이하로 제한합니다
+    FULLTEXT INDEX ft_phone_model (phone_model) WITH PARSER ngram,
+    FULLTEXT INDEX ft_barcode_value_head (barcode_value_head) WITH PARSER ngram
+);
+
+-- 사전 집계 통계 테이블 (dimension: TOTAL, TYPE, STATUS, PHONE_MODEL, DAY)
+-- 쓰기 시 증감분을 반영하고 주기적으로 barcodes에서 재집계합니다 (BarcodeStatsService)
+CREATE TABLE IF NOT EXISTS barcode_stats (
+    dimension VARCHAR(20) NOT NULL,
+    stat_key VARCHAR(100) NOT NULL,       -- TOTAL은 '', DAY는 yyyy-MM-dd, NULL 값은 ''
+    barcode_count BIGINT NOT NULL DEFAULT 0,
+    updated_date DATETIME DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (dimension, stat_key)
+);
+
+-- 삭제 기록 테이블 (변경 동기화 클라이언트에 삭제를 전달, app.sync.tombstoneRetentionDays 후 정리)
+CREATE TABLE IF NOT EXISTS barcode_tombstones (
+    tombstone_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    barcode_id BIGINT NOT NULL,
+    barcode_value VARCHAR(500) NOT NULL,
+    deleted_date DATETIME NOT NULL,
+    INDEX idx_deleted_date (deleted_date, tombstone_id)
+);
+
+-- 아카이브 테이블 (오래된 INACTIVE 행 보관, BarcodeArchiveService)
+-- barcodes는 FULLTEXT 인덱스와 created_date를 포함하지 않는 UNIQUE 키 때문에 파티셔닝할 수 없으므로
+-- 과거 행만 이 테이블로 옮겨 created_date 월 단위로 나눕니다. 월 파티션은 서버가 pmax를 나눠 자동 추가합니다.
+-- 파티션 키를 포함해야 하므로 PK는 (barcode_id, created_date)입니다.
+CREATE TABLE IF NOT EXISTS barcodes_archive (
+    barcode_id BIGINT NOT NULL,
+    barcode_value VARCHAR(500) NOT NULL,
+    barcode_value_hash BINARY(32) AS (UNHEX(SHA2(barcode_value, 256))) STORED,
+    barcode_type VARCHAR(50) NOT NULL,
+    phone_model VARCHAR(100),
+    status VARCHAR(20),
+    created_date DATETIME NOT NULL,
+    updated_date DATETIME DEFAULT NULL,
+    archived_date DATETIME NOT NULL,
+    PRIMARY KEY (barcode_id, created_date),
+    INDEX idx_archive_value_hash (barcode_value_hash),
+    INDEX idx_archive_archived_date (archived_date)
+) ROW_FORMAT=COMPRESSED KEY_BLOCK_SIZE=8
+PARTITION BY RANGE COLUMNS (created_date) (
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
 );
 
 -- 샘플 데이터 삽입 (서버에서 지원하는 바코드 타입 사용)
@@ -37,17 +91,23 @@ INSERT INTO barcodes (barcode_value, barcode_type, phone_model) VALUES
 ('http://example.com/qr', 'QR', 'iPad Pro'),
 ('DATAMATRIX_001', 'DataMatrix', 'Galaxy Tab S9');
 
+-- 기존 테이블 마이그레이션 (POST /api/barcodes/admin/migrate-value-hash 와 동일)
+-- 중복 값이 남아 있으면 UNIQUE 인덱스 생성이 실패하므로 먼저 정리해야 합니다.
+-- (엔드포인트에 ?removeDuplicates=true를 주면 값마다 가장 오래된 행만 남기고 삭제 기록과 통계 재집계까지 처리합니다)
+-- ALTER TABLE barcodes ADD COLUMN barcode_value_hash BINARY(32) AS (UNHEX(SHA2(barcode_value, 256))) STORED AFTER barcode_value;
+-- DELETE b FROM barcodes b
+--   JOIN (SELECT barcode_value_hash, MIN(barcode_id) AS keep_id FROM barcodes GROUP BY barcode_value_hash HAVING COUNT(*) > 1) d
+--     ON b.barcode_value_hash = d.barcode_value_hash AND b.barcode_id <> d.keep_id;
+-- ALTER TABLE barcodes ADD UNIQUE INDEX uk_barcode_value_hash (barcode_value_hash);
+-- ALTER TABLE barcodes DROP INDEX idx_barcode_value;
+
 -- 테이블 최적화 (선택사항)
 -- OPTIMIZE TABLE barcodes;
 -- ANALYZE TABLE barcodes;
 
--- 바코드 타입별 통계 조회 (확인용)
-SELECT 
-    barcode_type,
-    COUNT(*) as count,
-    MIN(created_date) as oldest,
-    MAX(created_date) as newest
-FROM barcodes 
-WHERE status = 'ACTIVE'
-GROUP BY barcode_type
-ORDER BY count DESC;
\ No newline at end of file
+-- 바코드 타입별 통계 조회 (확인용, 전체 스캔 없이 사전 집계 테이블 사용)
+-- 통계 테이블이 비어 있으면 서버 기동 시 자동으로 재집계됩니다
+SELECT stat_key AS barcode_type, barcode_count AS count
+FROM barcode_stats
+WHERE dimension = 'TYPE'
+ORDER BY barcode_count DESC;
\ No newline at end of file
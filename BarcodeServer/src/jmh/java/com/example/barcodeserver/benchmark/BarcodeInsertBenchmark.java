@@ -0,0 +1,63 @@
+package com.example.barcodeserver.benchmark;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 배치 크기별 저장 비용 측정.
+ * saveBarcodes가 사용하는 다중 VALUES INSERT와, 대량 적재가 사용하는 BATCH 실행기 + 단건 INSERT를 비교합니다.
+ * 결과는 호출당 시간이므로 배치 크기로 나누어 행당 비용을 비교합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BarcodeInsertBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int batchSize;
+
+    private SqlSessionFactory sqlSessionFactory;
+    private List<BarcodeDto> batch;
+
+    @Setup(Level.Trial)
+    public void setUpDatabase() throws Exception {
+        sqlSessionFactory = BenchmarkDatabase.create("insert");
+    }
+
+    @Setup(Level.Iteration)
+    public void resetTable() {
+        BenchmarkDatabase.truncate(sqlSessionFactory);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareBatch() {
+        batch = BenchmarkDatabase.newBarcodes(batchSize);
+    }
+
+    @Benchmark
+    public void multiRowInsert() {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.SIMPLE, false)) {
+            session.getMapper(BarcodeMapper.class).insertBarcodes(batch);
+            session.commit();
+        }
+    }
+
+    @Benchmark
+    public void jdbcBatchInsert() {
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+            BarcodeMapper mapper = session.getMapper(BarcodeMapper.class);
+            for (BarcodeDto barcode : batch) {
+                mapper.insertBarcodeForBatch(barcode);
+            }
+            session.flushStatements();
+            session.commit();
+        }
+    }
+}
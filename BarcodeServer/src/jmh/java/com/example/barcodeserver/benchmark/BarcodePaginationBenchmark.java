@@ -0,0 +1,67 @@
+package com.example.barcodeserver.benchmark;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.BarcodeFields;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 페이지 깊이별 목록 조회 비용 측정. OFFSET 페이징과 (created_date, barcode_id) 커서 페이징을 비교합니다.
+ * fields=summary는 idx_created_summary 인덱스만으로 응답할 수 있는 요약 열 조회입니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BarcodePaginationBenchmark {
+
+    private static final int TABLE_ROWS = 100_000;
+
+    @Param({"0", "1000", "50000"})
+    private int depth;
+
+    @Param({"20"})
+    private int pageSize;
+
+    @Param({"full", "summary"})
+    private String fields;
+
+    private List<String> columns;
+
+    private SqlSessionFactory sqlSessionFactory;
+    private BarcodeDto cursorRow;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        sqlSessionFactory = BenchmarkDatabase.create("pagination");
+        BenchmarkDatabase.seed(sqlSessionFactory, TABLE_ROWS);
+        columns = BarcodeFields.parse(fields).columns();
+        if (depth > 0) {
+            try (SqlSession session = sqlSessionFactory.openSession()) {
+                cursorRow = session.getMapper(BarcodeMapper.class).selectBarcodesPaginated(depth - 1, 1, null).get(0);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<BarcodeDto> offsetPage() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            return session.getMapper(BarcodeMapper.class).selectBarcodesPaginated(depth, pageSize, columns);
+        }
+    }
+
+    @Benchmark
+    public List<BarcodeDto> cursorPage() {
+        try (SqlSession session = sqlSessionFactory.openSession()) {
+            BarcodeMapper mapper = session.getMapper(BarcodeMapper.class);
+            if (cursorRow == null) {
+                return mapper.selectBarcodesAfterCursor(null, null, pageSize, columns);
+            }
+            return mapper.selectBarcodesAfterCursor(cursorRow.getCreatedDate(), cursorRow.getBarcodeId(), pageSize, columns);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.barcodeserver.benchmark;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * BarcodeDto Bean Validation 비용 측정.
+ * barcodeType/status의 @Pattern 정규식 검증과, 같은 규칙을 미리 컴파일한 정규식 또는 Set 조회로 처리했을 때를 비교합니다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class BarcodeValidationBenchmark {
+
+    private static final Pattern BARCODE_TYPE_PATTERN =
+            Pattern.compile("^(QR|Code128|EAN13|UPC|DataMatrix|PDF417|Code39|Code93|ITF|Codabar|Aztec|MaxiCode)$");
+    private static final Set<String> BARCODE_TYPES = Set.of(
+            "QR", "Code128", "EAN13", "UPC", "DataMatrix", "PDF417", "Code39", "Code93", "ITF", "Codabar", "Aztec", "MaxiCode");
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private BarcodeDto validBarcode;
+    private BarcodeDto invalidBarcode;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        validBarcode = new BarcodeDto("8801234567890", "MaxiCode");
+        validBarcode.setPhoneModel("iPhone 15 Pro");
+
+        invalidBarcode = new BarcodeDto("8801234567890", "EAN-13");
+        invalidBarcode.setStatus("DELETED");
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BarcodeDto>> validateValid() {
+        return validator.validate(validBarcode);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BarcodeDto>> validateInvalid() {
+        return validator.validate(invalidBarcode);
+    }
+
+    @Benchmark
+    public boolean precompiledPatternMatch() {
+        return BARCODE_TYPE_PATTERN.matcher(validBarcode.getBarcodeType()).matches();
+    }
+
+    @Benchmark
+    public boolean setLookup() {
+        return BARCODE_TYPES.contains(validBarcode.getBarcodeType());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.barcodeserver.benchmark;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import org.apache.ibatis.builder.xml.XMLMapperBuilder;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.h2.jdbcx.JdbcDataSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 벤치마크용 H2(MySQL 모드) 메모리 DB와 운영과 같은 매퍼 XML을 사용하는 MyBatis 세션 팩토리.
+ * H2는 생성 컬럼 식의 SHA2/UNHEX를 지원하지 않으므로 barcode_value_hash 컬럼은 만들지 않으며,
+ * 해시 컬럼을 쓰는 문(값 조회, upsert)은 벤치마크 대상에서 제외합니다.
+ */
+final class BenchmarkDatabase {
+
+    private static final String[] BARCODE_TYPES = {"QR", "Code128", "EAN13", "UPC", "DataMatrix"};
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private BenchmarkDatabase() {
+    }
+
+    static SqlSessionFactory create(String name) throws IOException, SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS barcodes");
+            statement.execute("CREATE TABLE barcodes ("
+                    + "barcode_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "barcode_value VARCHAR(500) NOT NULL, "
+                    + "barcode_type VARCHAR(50) NOT NULL, "
+                    + "phone_model VARCHAR(100), "
+                    + "status VARCHAR(20) DEFAULT 'ACTIVE', "
+                    + "created_date DATETIME DEFAULT CURRENT_TIMESTAMP, "
+                    + "updated_date DATETIME DEFAULT NULL)");
+            statement.execute("CREATE INDEX idx_created_date ON barcodes (created_date, barcode_id)");
+            statement.execute("CREATE INDEX idx_created_summary ON barcodes (created_date, barcode_id, barcode_type, status)");
+        }
+
+        Configuration configuration = new Configuration(
+                new Environment("benchmark", new JdbcTransactionFactory(), dataSource));
+        configuration.setMapUnderscoreToCamelCase(true);
+        configuration.getTypeAliasRegistry().registerAliases("com.example.barcodeserver.dto");
+        String resource = "mappers/BarcodeMapper.xml";
+        try (InputStream in = Resources.getResourceAsStream(resource)) {
+            new XMLMapperBuilder(in, configuration, resource, configuration.getSqlFragments()).parse();
+        }
+        return new SqlSessionFactoryBuilder().build(configuration);
+    }
+
+    static void truncate(SqlSessionFactory factory) {
+        try (SqlSession session = factory.openSession(true);
+             Statement statement = session.getConnection().createStatement()) {
+            statement.execute("TRUNCATE TABLE barcodes");
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * rows건을 1000건 단위 다중 VALUES INSERT로 채웁니다. created_date는 1초씩 과거로 분산됩니다.
+     */
+    static void seed(SqlSessionFactory factory, int rows) {
+        LocalDateTime base = LocalDateTime.now();
+        try (SqlSession session = factory.openSession(ExecutorType.SIMPLE, false)) {
+            BarcodeMapper mapper = session.getMapper(BarcodeMapper.class);
+            List<BarcodeDto> chunk = new ArrayList<>(1000);
+            for (int i = 0; i < rows; i++) {
+                BarcodeDto barcode = newBarcode();
+                barcode.setCreatedDate(base.minusSeconds(i));
+                chunk.add(barcode);
+                if (chunk.size() == 1000) {
+                    mapper.insertBarcodes(chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                mapper.insertBarcodes(chunk);
+            }
+            session.commit();
+        }
+    }
+
+    static List<BarcodeDto> newBarcodes(int count) {
+        List<BarcodeDto> barcodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            barcodes.add(newBarcode());
+        }
+        return barcodes;
+    }
+
+    static BarcodeDto newBarcode() {
+        long sequence = SEQUENCE.incrementAndGet();
+        BarcodeDto barcode = new BarcodeDto(
+                String.format("880%010d", sequence), BARCODE_TYPES[(int) (sequence % BARCODE_TYPES.length)]);
+        barcode.setPhoneModel("Galaxy S24");
+        return barcode;
+    }
+}
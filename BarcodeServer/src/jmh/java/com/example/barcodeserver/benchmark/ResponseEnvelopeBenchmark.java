@@ -0,0 +1,73 @@
+package com.example.barcodeserver.benchmark;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.PageResult;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 페이지 응답 봉투를 만들고 Jackson으로 직렬화하는 비용 측정.
+ * 요청마다 만드는 Map&lt;String, Object&gt; 봉투와 PageResult 레코드를 비교하며, blackbird=true는 애플리케이션과 같이
+ * BlackbirdModule을 등록한 ObjectMapper입니다. 할당량은 -prof gc로 확인합니다 (README 참고).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ResponseEnvelopeBenchmark {
+
+    @Param({"1", "20", "100"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private List<BarcodeDto> data;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL);
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        data = BenchmarkDatabase.newBarcodes(rows);
+        LocalDateTime now = LocalDateTime.now();
+        long id = 1;
+        for (BarcodeDto barcode : data) {
+            barcode.setBarcodeId(id++);
+            barcode.setCreatedDate(now);
+        }
+    }
+
+    @Benchmark
+    public byte[] mapEnvelope() throws JsonProcessingException {
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("currentPage", 0);
+        pagination.put("pageSize", rows);
+        pagination.put("hasNext", false);
+        Map<String, Object> envelope = new HashMap<>();
+        envelope.put("success", true);
+        envelope.put("data", data);
+        envelope.put("count", data.size());
+        envelope.put("pagination", pagination);
+        return objectMapper.writeValueAsBytes(envelope);
+    }
+
+    @Benchmark
+    public byte[] recordEnvelope() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(PageResult.of(data, PageResult.Pagination.ofPage(0, rows, false)));
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.barcodeserver.config;
+
+import com.example.barcodeserver.dto.ApiResult;
+import com.example.barcodeserver.util.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import java.io.IOException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * /api 요청 앞단의 적응형 동시성 제한(load shedding) 필터.
+ * 응답 시간으로 조절되는 전체 한도를 등급별 비율로 나눠 쓰므로, 과부하가 시작되면 관리(admin) 요청, 조회 요청 순으로
+ * 먼저 거절되고 스캐너 쓰기 요청의 자리가 남습니다. 한도를 넘은 요청은 Hikari 커넥션 대기(connection-timeout) 대신
+ * 즉시 503과 Retry-After로 응답합니다.
+ * 클라이언트(X-Client-Id, 없으면 원격 주소 + X-Phone-Model, 없으면 원격 주소)마다 현재 한도의 clientShare까지만 동시에 처리합니다.
+ * 비동기 요청은 완료될 때까지 자리를 차지하며, 한도는 과부하로 인한 시간 초과에만 줄어듭니다.
+ * 요청 본문을 풀기 전에 거절하도록 압축 해제 필터보다 앞에서 실행됩니다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveConcurrencyFilter extends OncePerRequestFilter {
+
+    enum Priority { WRITE, READ, ADMIN }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.limiter.initialLimit:30}")
+    private int initialLimit;
+
+    @Value("${app.limiter.minLimit:5}")
+    private int minLimit;
+
+    @Value("${app.limiter.maxLimit:200}")
+    private int maxLimit;
+
+    @Value("${app.limiter.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${app.limiter.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${app.limiter.share.write:1.0}")
+    private double writeShare;
+
+    @Value("${app.limiter.share.read:0.8}")
+    private double readShare;
+
+    @Value("${app.limiter.share.admin:0.2}")
+    private double adminShare;
+
+    @Value("${app.limiter.client.share:0.3}")
+    private double clientShare;
+
+    @Value("${app.limiter.client.minPermits:2}")
+    private int clientMinPermits;
+
+    @Value("${app.limiter.retryAfterSeconds:1}")
+    private int retryAfterSeconds;
+
+    private AdaptiveConcurrencyLimiter limiter;
+
+    // 처리 중인 요청이 있는 클라이언트만 담기므로 크기는 동시 요청 수를 넘지 않습니다
+    private final ConcurrentHashMap<String, Integer> clientInFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> rejectedCounters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, tolerance, smoothing);
+        Gauge.builder("barcode.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("barcode.limiter.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently admitted by the limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Priority priority = classify(request);
+        if (!limiter.tryAcquire(share(priority))) {
+            reject(response, priority, "limit");
+            return;
+        }
+        String client = clientKey(request);
+        if (!acquireClient(client)) {
+            limiter.release(0, AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+            reject(response, priority, "client");
+            return;
+        }
+
+        Permit permit = new Permit(request, client);
+        boolean deferred = false;
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // 비동기 응답(내보내기 스트리밍)은 완료될 때까지 DB 커넥션을 쓰므로 그때까지 자리를 유지합니다
+                request.getAsyncContext().addListener(permit);
+                deferred = true;
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            if (!deferred) {
+                permit.release(outcome(request, failure, false));
+            }
+        }
+    }
+
+    /**
+     * 한도를 줄이는 DROPPED는 과부하 신호(커넥션 대기·쿼리·비동기 요청 시간 초과)일 때만 기록합니다.
+     * 기능 비활성화나 작업 대기열 가득 참처럼 애플리케이션이 직접 보낸 503은 응답 시간 표본으로만 다룹니다.
+     * 예외 처리기(@ExceptionHandler)가 응답으로 바꾼 예외는 DispatcherServlet.EXCEPTION_ATTRIBUTE에서 찾습니다.
+     */
+    static AdaptiveConcurrencyLimiter.Outcome outcome(HttpServletRequest request, Throwable failure, boolean async) {
+        if (failure == null && request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE) instanceof Throwable handled) {
+            failure = handled;
+        }
+        if (isOverload(failure)) {
+            return AdaptiveConcurrencyLimiter.Outcome.DROPPED;
+        }
+        if (async || isPayloadBound(request)) {
+            return AdaptiveConcurrencyLimiter.Outcome.IGNORED;
+        }
+        return AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+    }
+
+    private static boolean isOverload(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof AsyncRequestTimeoutException
+                    || cause instanceof CannotGetJdbcConnectionException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof SQLTimeoutException
+                    || cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Priority classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/barcodes/admin/")) {
+            return Priority.ADMIN;
+        }
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || path.equals("/api/barcodes/exists")) {
+            return Priority.READ;
+        }
+        return Priority.WRITE;
+    }
+
+    private double share(Priority priority) {
+        return switch (priority) {
+            case WRITE -> writeShare;
+            case READ -> readShare;
+            case ADMIN -> adminShare;
+        };
+    }
+
+    /**
+     * 처리 시간이 본문 크기에 좌우되는 대량 업로드는 응답 시간 표본에서 제외합니다 (내보내기는 비동기로 처리되어 isAsyncStarted로 제외)
+     */
+    private static boolean isPayloadBound(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return "POST".equals(request.getMethod())
+                && (path.equals("/api/barcodes/bulk") || path.equals("/api/barcodes/jobs"));
+    }
+
+    /**
+     * 앱이 설치마다 만들어 보내는 X-Client-Id를 기준으로 합니다.
+     * X-Client-Id가 없는 구버전 앱은 같은 모델의 모든 기기가 한도를 나눠 쓰지 않도록 원격 주소와 기기 모델을 함께 씁니다.
+     */
+    static String clientKey(HttpServletRequest request) {
+        String clientId = request.getHeader("X-Client-Id");
+        if (clientId != null && !clientId.isBlank()) {
+            return "client:" + clientId;
+        }
+        String phoneModel = request.getHeader("X-Phone-Model");
+        if (phoneModel != null && !phoneModel.isBlank()) {
+            return "addr:" + request.getRemoteAddr() + "/model:" + phoneModel;
+        }
+        return "addr:" + request.getRemoteAddr();
+    }
+
+    private boolean acquireClient(String client) {
+        int quota = Math.max(clientMinPermits, (int) Math.ceil(limiter.getLimit() * clientShare));
+        boolean[] admitted = new boolean[1];
+        clientInFlight.compute(client, (key, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= quota) {
+                return count;
+            }
+            admitted[0] = true;
+            return current + 1;
+        });
+        return admitted[0];
+    }
+
+    private void releaseClient(String client) {
+        clientInFlight.computeIfPresent(client, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * 허가한 요청의 전체 한도 자리와 클라이언트 자리. 동기 요청은 필터에서, 비동기 요청은 완료 시 한 번만 반환합니다.
+     */
+    private final class Permit implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final String client;
+        private final long startTime = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile boolean timedOut;
+        private volatile Throwable asyncFailure;
+
+        Permit(HttpServletRequest request, String client) {
+            this.request = request;
+            this.client = client;
+        }
+
+        void release(AdaptiveConcurrencyLimiter.Outcome outcome) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - startTime, outcome);
+                releaseClient(client);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            AdaptiveConcurrencyLimiter.Outcome outcome = timedOut
+                    ? AdaptiveConcurrencyLimiter.Outcome.DROPPED
+                    : outcome(request, asyncFailure, true);
+            release(outcome);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            timedOut = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            asyncFailure = event.getThrowable();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 비동기 디스패치에서 다시 startAsync를 호출하면 리스너가 지워지므로 새 AsyncContext에 다시 등록합니다
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private void reject(HttpServletResponse response, Priority priority, String reason) throws IOException {
+        rejectedCounters.computeIfAbsent(priority + ":" + reason, key -> Counter.builder("barcode.limiter.rejected")
+                .description("Requests shed by the adaptive concurrency limiter")
+                .tag("priority", priority.name().toLowerCase())
+                .tag("reason", reason)
+                .register(meterRegistry))
+                .increment();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        String message = "client".equals(reason)
+                ? "Too many concurrent requests from this client, retry later"
+                : "Server is busy, retry later";
+        objectMapper.writeValue(response.getOutputStream(), ApiResult.error(message));
+    }
+}
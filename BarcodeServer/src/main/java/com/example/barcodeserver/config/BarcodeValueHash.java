@@ -0,0 +1,50 @@
+package com.example.barcodeserver.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * barcodes.barcode_value_hash 생성 컬럼이 있는지 기동 시 확인합니다.
+ * 매퍼의 값 조회/삭제는 컬럼이 있으면 해시 UNIQUE 인덱스로, 없으면(POST /admin/migrate-value-hash 이전의 기존 DB)
+ * 기존처럼 barcode_value로 찾습니다. 매퍼 XML에서 {@code @...BarcodeValueHash@isAvailable()}로 참조하므로 정적 상태로 둡니다.
+ * 지연 초기화(faststart)에서도 첫 요청 전에 확인하도록 즉시 생성합니다.
+ */
+@Component
+@Lazy(false)
+public class BarcodeValueHash {
+
+    private static final Logger log = LoggerFactory.getLogger(BarcodeValueHash.class);
+
+    // 확인 전이나 확인에 실패하면 schema.sql 기준(컬럼 있음)으로 동작합니다
+    private static volatile boolean available = true;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public static boolean isAvailable() {
+        return available;
+    }
+
+    @PostConstruct
+    public void refresh() {
+        try {
+            Integer columns = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM information_schema.columns " +
+                    "WHERE table_schema = DATABASE() AND table_name = 'barcodes' AND column_name = 'barcode_value_hash'",
+                    Integer.class);
+            available = columns != null && columns > 0;
+            if (!available) {
+                log.warn("barcodes.barcode_value_hash is missing: value lookups use barcode_value until "
+                        + "POST /api/barcodes/admin/migrate-value-hash is run, and mode=upsert only skips duplicates "
+                        + "while a UNIQUE index on barcode_value remains");
+            }
+        } catch (Exception e) {
+            log.warn("Could not check for barcodes.barcode_value_hash, assuming it exists: {}", e.getMessage());
+        }
+    }
+}
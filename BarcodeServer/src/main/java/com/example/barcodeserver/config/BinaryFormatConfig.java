@@ -0,0 +1,45 @@
+package com.example.barcodeserver.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * CBOR(application/cbor) 요청/응답 변환기.
+ * spring.jackson.* 설정을 그대로 적용한 ObjectMapper를 사용하므로 JSON과 같은 필드/날짜 형식을 유지하며,
+ * Accept 또는 Content-Type 헤더로 JSON과 CBOR 중 하나를 선택합니다.
+ * 열 단위 배치 요청(application/vnd.barcode.columnar+cbor)도 같은 변환기로 읽습니다.
+ * JSON 변환기보다 뒤에 두어 Accept 헤더가 없거나 모든 형식을 허용하는 기존 클라이언트는 계속 JSON을 받습니다.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+
+    public static final String COLUMNAR_JSON_VALUE = "application/vnd.barcode.columnar+json";
+    public static final String COLUMNAR_CBOR_VALUE = "application/vnd.barcode.columnar+cbor";
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        MappingJackson2CborHttpMessageConverter cborConverter =
+                new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+        cborConverter.setSupportedMediaTypes(List.of(MediaType.APPLICATION_CBOR, MediaType.parseMediaType(COLUMNAR_CBOR_VALUE)));
+
+        // 클래스패스 감지로 이미 등록된 기본 CBOR 변환기는 같은 위치에서 교체합니다
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2CborHttpMessageConverter) {
+                converters.set(i, cborConverter);
+                return;
+            }
+        }
+        converters.add(cborConverter);
+    }
+}
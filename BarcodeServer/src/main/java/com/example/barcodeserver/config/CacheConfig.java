@@ -1,21 +1,91 @@
 package com.example.barcodeserver.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 캐시 설정.
+ * 캐시마다 최대 크기와 TTL을 두는 Caffeine 캐시를 사용하며, recordStats로 수집한 히트/미스/제거 통계는
+ * actuator의 cache.* 메트릭으로 노출됩니다. 등록되지 않은 이름의 캐시는 생성하지 않습니다.
+ * 쓰기 트랜잭션 안의 캐시 제거는 커밋 이후로 미뤄 커밋 전 데이터가 다시 캐시되지 않도록 합니다.
+ * barcodeByValue의 "없음"(null) 결과는 짧은 TTL(negativeTtl)로만 보관하여 없는 코드의 반복 조회를 막되,
+ * 다른 인스턴스에서 저장된 값이 오래 가려지지 않도록 합니다.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
-    
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
-            "barcodesCount",
-            "barcodesByType",
-            "recentBarcodes"
-        );
+    public CacheManager cacheManager(
+            @Value("${app.cache.barcodesCount.ttl:30s}") Duration countTtl,
+            @Value("${app.cache.barcodesCountByType.maximumSize:100}") long countByTypeSize,
+            @Value("${app.cache.barcodesCountByType.ttl:60s}") Duration countByTypeTtl,
+            @Value("${app.cache.barcodesByType.maximumRows:50000}") long byTypeMaxRows,
+            @Value("${app.cache.barcodesByType.ttl:30s}") Duration byTypeTtl,
+            @Value("${app.cache.barcodeByValue.maximumSize:100000}") long byValueSize,
+            @Value("${app.cache.barcodeByValue.ttl:10m}") Duration byValueTtl,
+            @Value("${app.cache.barcodeByValue.negativeTtl:5s}") Duration byValueNegativeTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCacheNames(List.of());
+
+        cacheManager.registerCustomCache("barcodesCount", Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(countTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache("barcodesCountByType", Caffeine.newBuilder()
+                .maximumSize(countByTypeSize)
+                .expireAfterWrite(countByTypeTtl)
+                .recordStats()
+                .build());
+        // 타입별 목록은 항목 하나가 목록 전체이므로 항목 수가 아니라 전체 행 수로 크기를 제한합니다
+        cacheManager.registerCustomCache("barcodesByType", Caffeine.newBuilder()
+                .maximumWeight(byTypeMaxRows)
+                .<Object, Object>weigher((key, value) -> value instanceof Collection<?> rows ? Math.max(1, rows.size()) : 1)
+                .expireAfterWrite(byTypeTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache("barcodeByValue", Caffeine.newBuilder()
+                .maximumSize(byValueSize)
+                .expireAfter(positiveNegativeExpiry(byValueTtl, byValueNegativeTtl))
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    /**
+     * 쓰기 시점 기준 만료. Spring이 null 대신 저장하는 NullValue 항목은 negativeTtl, 그 외는 ttl을 적용합니다.
+     */
+    private static Expiry<Object, Object> positiveNegativeExpiry(Duration ttl, Duration negativeTtl) {
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Object key, Object value, long currentTime) {
+                return value instanceof NullValue ? negativeTtlNanos : ttlNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
     }
-}
\ No newline at end of file
+}
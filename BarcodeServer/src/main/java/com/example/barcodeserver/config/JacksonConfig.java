@@ -0,0 +1,20 @@
+package com.example.barcodeserver.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson 직렬화 설정.
+ * Module 빈은 Spring Boot가 Jackson2ObjectMapperBuilder에 등록하므로 JSON과 CBOR 변환기 모두에 적용됩니다.
+ * BlackbirdModule은 getter/setter 리플렉션 호출을 LambdaMetafactory로 만든 접근자로 바꿔 응답 직렬화 비용을 줄입니다.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.barcodeserver.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * app.jdbc.concurrency.enabled=true일 때 기본 dataSource 빈을 ConcurrencyLimitedDataSource로 감쌉니다.
+ * 가상 스레드 모드(spring.threads.virtual.enabled=true)와 함께 사용하는 것을 전제로 합니다.
+ * 최대 동시 수를 지정하지 않으면 Hikari 최대 풀 크기를 사용합니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jdbc.concurrency.enabled", havingValue = "true")
+public class JdbcConcurrencyLimitConfig {
+
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimitPostProcessor(
+            Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                int maxConcurrency = environment.getProperty("app.jdbc.concurrency.max", Integer.class, poolSize);
+                long acquireTimeoutMs = environment.getProperty("app.jdbc.concurrency.acquireTimeoutMs", Long.class, 5000L);
+
+                ConcurrencyLimitedDataSource limited =
+                        new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeoutMs);
+                meterRegistry.ifAvailable(registry -> Gauge
+                        .builder("barcode.jdbc.concurrency.waiting", limited, ConcurrencyLimitedDataSource::getWaitingThreads)
+                        .description("Threads waiting for a JDBC permit")
+                        .register(registry));
+                return limited;
+            }
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.barcodeserver.config;
+
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.beans.factory.config.ConstructorArgumentValues;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Spring AOT 처리(./gradlew bootJar -Paot) 시 @MapperScan으로 등록된 MapperFactoryBean의 매퍼 타입 보완.
+ * AOT로 생성된 빈 정의에는 MapperFactoryBean&lt;T&gt;의 T가 남지 않아 타입으로 주입할 매퍼를 찾지 못하므로,
+ * mapperInterface 속성으로 제네릭 타입과 생성자 인자를 채워 둡니다. 일반 기동에서는 이미 타입이 확정되어 있어 아무것도 하지 않습니다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MyBatisAotConfig {
+
+    @Bean
+    static MergedBeanDefinitionPostProcessor mapperFactoryBeanTypeResolver() {
+        return (beanDefinition, beanType, beanName) -> {
+            if (!beanDefinition.hasBeanClass()
+                    || !MapperFactoryBean.class.isAssignableFrom(beanDefinition.getBeanClass())
+                    || !beanDefinition.getResolvableType().hasUnresolvableGenerics()) {
+                return;
+            }
+            Class<?> mapperInterface = mapperInterface(beanDefinition);
+            if (mapperInterface == null) {
+                return;
+            }
+            ConstructorArgumentValues constructorArguments = new ConstructorArgumentValues();
+            constructorArguments.addGenericArgumentValue(mapperInterface);
+            beanDefinition.setConstructorArgumentValues(constructorArguments);
+            beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(beanDefinition.getBeanClass(), mapperInterface));
+        };
+    }
+
+    private static Class<?> mapperInterface(RootBeanDefinition beanDefinition) {
+        Object value = beanDefinition.getPropertyValues().get("mapperInterface");
+        if (value instanceof Class<?> type) {
+            return type;
+        }
+        if (value instanceof String className) {
+            return ClassUtils.resolveClassName(className, MyBatisAotConfig.class.getClassLoader());
+        }
+        return null;
+    }
+}
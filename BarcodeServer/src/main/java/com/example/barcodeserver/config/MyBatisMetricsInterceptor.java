@@ -0,0 +1,107 @@
+package com.example.barcodeserver.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매퍼 문(statement)별 실행 시간을 barcode.db.statement 타이머로 기록하는 MyBatis 인터셉터.
+ * mybatis-spring-boot-starter가 Interceptor 빈을 자동으로 등록하므로 BATCH 실행기를 포함한 모든 세션에 적용됩니다.
+ * BATCH 실행기에서는 update가 문을 쌓기만 하므로 실제 DB 왕복은 statement=flushStatements로 따로 기록됩니다.
+ * Cursor 조회(내보내기 등 스트리밍)는 호출부터 Cursor를 닫을 때까지를 기록합니다.
+ * 타이머는 (statement, command, outcome)마다 한 번만 등록하고 재사용합니다.
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
+        @Signature(type = Executor.class, method = "flushStatements", args = {})
+})
+public class MyBatisMetricsInterceptor implements Interceptor {
+
+    static final String METRIC_NAME = "barcode.db.statement";
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    private record TimerKey(String statement, String command, String outcome) {
+    }
+
+    public MyBatisMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        String statement;
+        String command;
+        Object[] args = invocation.getArgs();
+        if (args.length > 0 && args[0] instanceof MappedStatement mappedStatement) {
+            statement = shortId(mappedStatement.getId());
+            command = mappedStatement.getSqlCommandType().name();
+        } else {
+            statement = invocation.getMethod().getName();
+            command = "FLUSH";
+        }
+
+        long startTime = System.nanoTime();
+        String outcome = "SUCCESS";
+        boolean deferred = false;
+        try {
+            Object result = invocation.proceed();
+            if (result instanceof Cursor<?> cursor) {
+                deferred = true;
+                return ObservedCursor.onClose(cursor, closed ->
+                        timer(statement, command, "SUCCESS").record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS));
+            }
+            return result;
+        } catch (Throwable t) {
+            outcome = "ERROR";
+            throw t;
+        } finally {
+            if (!deferred) {
+                timer(statement, command, outcome).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private Timer timer(String statement, String command, String outcome) {
+        return timers.computeIfAbsent(new TimerKey(statement, command, outcome), key -> Timer.builder(METRIC_NAME)
+                .description("MyBatis mapper statement execution time")
+                .tag("statement", key.statement())
+                .tag("command", key.command())
+                .tag("outcome", key.outcome())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * com.example...BarcodeMapper.selectBarcodeById → BarcodeMapper.selectBarcodeById
+     */
+    static String shortId(String id) {
+        int methodDot = id.lastIndexOf('.');
+        int classDot = methodDot > 0 ? id.lastIndexOf('.', methodDot - 1) : -1;
+        return classDot >= 0 ? id.substring(classDot + 1) : id;
+    }
+}
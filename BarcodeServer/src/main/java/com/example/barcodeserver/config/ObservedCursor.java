@@ -0,0 +1,63 @@
+package com.example.barcodeserver.config;
+
+import org.apache.ibatis.cursor.Cursor;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 닫힐 때 한 번 콜백을 호출하는 위임 Cursor (MyBatis 인터셉터용).
+ * Executor.queryCursor는 첫 행을 받으면 바로 반환하고 나머지 행은 호출자가 읽는 동안 스트리밍되므로,
+ * 스트리밍 조회의 실제 소요 시간은 queryCursor 호출부터 Cursor를 닫을 때까지입니다.
+ */
+final class ObservedCursor<T> implements Cursor<T> {
+
+    private final Cursor<T> delegate;
+    private final Consumer<Cursor<T>> onClose;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    private ObservedCursor(Cursor<T> delegate, Consumer<Cursor<T>> onClose) {
+        this.delegate = delegate;
+        this.onClose = onClose;
+    }
+
+    /**
+     * onClose는 원래 Cursor를 닫은 뒤 호출되며, 읽은 행 수는 getCurrentIndex() + 1입니다.
+     */
+    static <T> Cursor<T> onClose(Cursor<T> cursor, Consumer<Cursor<T>> onClose) {
+        return new ObservedCursor<>(cursor, onClose);
+    }
+
+    @Override
+    public boolean isOpen() {
+        return delegate.isOpen();
+    }
+
+    @Override
+    public boolean isConsumed() {
+        return delegate.isConsumed();
+    }
+
+    @Override
+    public int getCurrentIndex() {
+        return delegate.getCurrentIndex();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            delegate.close();
+        } finally {
+            if (closed.compareAndSet(false, true)) {
+                onClose.accept(delegate);
+            }
+        }
+    }
+}
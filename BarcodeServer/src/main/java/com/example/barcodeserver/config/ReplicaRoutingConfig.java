@@ -0,0 +1,114 @@
+package com.example.barcodeserver.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * app.datasource.replica.enabled=true일 때 읽기 전용 트랜잭션을 복제본으로 보내는 DataSource 구성.
+ * primary는 spring.datasource.*, 복제본은 app.datasource.replica.urls(쉼표 구분)로 각각 별도 Hikari 풀을 만들며,
+ * 풀 메트릭(hikaricp.*)은 pool 태그(primary, replica-0, ...)로 구분됩니다.
+ * 복제 지연 확인은 복제본마다 커넥션 1개짜리 풀(replica-0-lag, ...)을 따로 두고 lagCheckTimeoutMs 안에 포기합니다.
+ * 애플리케이션이 사용하는 dataSource 빈은 라우팅 DataSource를 감싼 LazyConnectionDataSourceProxy입니다.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+            DataSourceProperties properties, Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        String[] urls = environment.getProperty("app.datasource.replica.urls", String[].class, new String[0]);
+        String username = environment.getProperty("app.datasource.replica.username", properties.getUsername());
+        String password = environment.getProperty("app.datasource.replica.password", properties.getPassword());
+        int poolSize = environment.getProperty("app.datasource.replica.maximumPoolSize", Integer.class,
+                primaryDataSource.getMaximumPoolSize());
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+
+        long lagCheckTimeoutMs = environment.getProperty("app.datasource.replica.lagCheckTimeoutMs", Long.class, 1000L);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        Map<String, DataSource> lagCheckSources = new LinkedHashMap<>();
+        for (int i = 0; i < urls.length; i++) {
+            if (urls[i].isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.getDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setMinimumIdle(Math.min(primaryDataSource.getMinimumIdle(), poolSize));
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setIdleTimeout(primaryDataSource.getIdleTimeout());
+            replica.setMaxLifetime(primaryDataSource.getMaxLifetime());
+            replica.setReadOnly(true);
+            if (registry != null) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            replicas.put(replica.getPoolName(), replica);
+            lagCheckSources.put(replica.getPoolName(), lagCheckDataSource(replica, lagCheckTimeoutMs));
+        }
+
+        long maxLagSeconds = environment.getProperty("app.datasource.replica.maxLagSeconds", Long.class, 5L);
+        boolean lagCheckEnabled = environment.getProperty("app.datasource.replica.lagCheck", Boolean.class, true);
+        long lagCheckIntervalMs = environment.getProperty("app.datasource.replica.lagCheckIntervalMs", Long.class, 2000L);
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                primaryDataSource, replicas, lagCheckSources, maxLagSeconds, lagCheckEnabled, registry);
+        routingDataSource.startLagCheck(lagCheckIntervalMs, (int) Math.ceil(lagCheckTimeoutMs / 1000.0));
+        return routingDataSource;
+    }
+
+    /**
+     * 지연 확인 전용 풀. 응답 없는 복제본에서 연결/검증/조회가 각각 timeoutMs 안에 실패하도록 하고,
+     * 기동 시 복제본이 내려가 있어도 실패하지 않습니다 (다음 확인에서 다시 연결).
+     */
+    private static HikariDataSource lagCheckDataSource(HikariDataSource replica, long timeoutMs) {
+        long connectionTimeout = Math.max(250, timeoutMs);
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(replica.getPoolName() + "-lag");
+        dataSource.setJdbcUrl(replica.getJdbcUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setDriverClassName(replica.getDriverClassName());
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setMinimumIdle(0);
+        dataSource.setConnectionTimeout(connectionTimeout);
+        dataSource.setValidationTimeout(Math.max(250, connectionTimeout / 2));
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.addDataSourceProperty("connectTimeout", String.valueOf(connectionTimeout));
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.barcodeserver.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true))을 복제본으로, 나머지는 primary로 보내는 DataSource.
+ * 트랜잭션 시작 시점에는 readOnly 여부가 아직 설정되지 않으므로 반드시 LazyConnectionDataSourceProxy로 감싸서 사용합니다.
+ *
+ * <ul>
+ *   <li>복제본이 여러 개면 라운드 로빈으로 나눕니다.</li>
+ *   <li>lagCheckIntervalMs마다 복제 지연을 확인하여 maxLagSeconds를 넘거나 복제가 멈춘 복제본은 제외하고,
+ *       사용할 복제본이 없으면 primary로 읽습니다. 지연 확인은 전용 스레드에서 복제본마다 커넥션 1개짜리 별도 풀로
+ *       짧은 시간 제한(lagCheckTimeoutMs)을 두고 실행하므로, 응답 없는 복제본이 다른 스케줄 작업이나 조회 풀을 붙잡지 않습니다.</li>
+ *   <li>선택 결과는 barcode.datasource.route 카운터(route, readOnly 태그)로 기록합니다.</li>
+ * </ul>
+ */
+public final class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    public static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final Map<String, DataSource> lagCheckSources;
+    private final long maxLagSeconds;
+    private final boolean lagCheckEnabled;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Long> replicaLagSeconds = new ConcurrentHashMap<>();
+    private final Map<String, Counter> routeCounters = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private volatile List<String> availableReplicas;
+    private ScheduledExecutorService lagCheckExecutor;
+    private int lagCheckQueryTimeoutSeconds = 1;
+
+    /**
+     * lagCheckSources는 복제본과 같은 키의 지연 확인 전용 DataSource입니다. 없는 키는 조회용 풀을 사용합니다.
+     */
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Map<String, DataSource> lagCheckSources,
+                                    long maxLagSeconds, boolean lagCheckEnabled, MeterRegistry meterRegistry) {
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.lagCheckSources = new LinkedHashMap<>(lagCheckSources);
+        this.maxLagSeconds = maxLagSeconds;
+        this.lagCheckEnabled = lagCheckEnabled;
+        this.meterRegistry = meterRegistry;
+        // 첫 지연 확인 전까지는 모든 복제본을 사용합니다
+        this.availableReplicas = List.copyOf(this.replicas.keySet());
+
+        Map<Object, Object> targets = new HashMap<>(this.replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        if (meterRegistry != null) {
+            for (String replica : this.replicas.keySet()) {
+                Gauge.builder("barcode.datasource.replica.lag", replicaLagSeconds,
+                                lags -> lags.getOrDefault(replica, -1L))
+                        .description("Replication lag in seconds (-1 when unknown or stopped)")
+                        .baseUnit("seconds")
+                        .tag("route", replica)
+                        .register(meterRegistry);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        String route = PRIMARY;
+        if (readOnly) {
+            List<String> available = availableReplicas;
+            if (!available.isEmpty()) {
+                route = available.get(Math.floorMod(nextReplica.getAndIncrement(), available.size()));
+            }
+        }
+        countRoute(route, readOnly);
+        return route;
+    }
+
+    /**
+     * 전용 데몬 스레드에서 intervalMs마다 지연을 확인합니다. 각 확인 쿼리는 queryTimeoutSeconds 안에 끝나지 않으면 취소됩니다.
+     */
+    public void startLagCheck(long intervalMs, int queryTimeoutSeconds) {
+        if (!lagCheckEnabled || replicas.isEmpty()) {
+            return;
+        }
+        lagCheckQueryTimeoutSeconds = Math.max(1, queryTimeoutSeconds);
+        lagCheckExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lagCheckExecutor.scheduleWithFixedDelay(() -> {
+            try {
+                checkReplicaLag();
+            } catch (Exception e) {
+                log.warn("Replica lag check failed", e);
+            }
+        }, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 복제본마다 SHOW REPLICA STATUS(8.0.22 미만은 SHOW SLAVE STATUS)로 지연을 확인하여 사용할 복제본 목록을 갱신합니다.
+     * 복제 설정이 없는 서버(로컬 테스트용 독립 DB)는 지연 0으로 봅니다.
+     */
+    public void checkReplicaLag() {
+        if (!lagCheckEnabled) {
+            return;
+        }
+        List<String> available = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            Long lag = readLagSeconds(lagCheckSources.getOrDefault(replica.getKey(), replica.getValue()));
+            if (lag != null) {
+                replicaLagSeconds.put(replica.getKey(), lag);
+            } else {
+                replicaLagSeconds.remove(replica.getKey());
+            }
+            if (lag != null && lag <= maxLagSeconds) {
+                available.add(replica.getKey());
+            }
+        }
+        if (!available.equals(availableReplicas)) {
+            log.warn("Available read replicas changed: {} -> {} (lag {})", availableReplicas, available, replicaLagSeconds);
+        }
+        availableReplicas = List.copyOf(available);
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("replicas", replicas.keySet());
+        status.put("available", availableReplicas);
+        status.put("lagSeconds", new HashMap<>(replicaLagSeconds));
+        status.put("maxLagSeconds", maxLagSeconds);
+        return status;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (lagCheckExecutor != null) {
+            lagCheckExecutor.shutdownNow();
+        }
+        for (DataSource source : lagCheckSources.values()) {
+            if (source instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private Long readLagSeconds(DataSource replica) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(replica);
+        jdbcTemplate.setQueryTimeout(lagCheckQueryTimeoutSeconds);
+        List<Map<String, Object>> rows;
+        try {
+            rows = jdbcTemplate.queryForList("SHOW REPLICA STATUS");
+        } catch (Exception e) {
+            try {
+                rows = jdbcTemplate.queryForList("SHOW SLAVE STATUS");
+            } catch (Exception fallbackError) {
+                log.debug("Replica lag check failed", fallbackError);
+                return null;
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0L;
+        }
+        Map<String, Object> row = rows.get(0);
+        Object lag = row.containsKey("Seconds_Behind_Source") ? row.get("Seconds_Behind_Source") : row.get("Seconds_Behind_Master");
+        // NULL이면 복제 스레드가 멈춘 상태입니다
+        return lag instanceof Number number ? number.longValue() : null;
+    }
+
+    private void countRoute(String route, boolean readOnly) {
+        if (meterRegistry == null) {
+            return;
+        }
+        routeCounters.computeIfAbsent(route + ":" + readOnly, key -> Counter.builder("barcode.datasource.route")
+                .description("Connections routed per datasource")
+                .tag("route", route)
+                .tag("readOnly", String.valueOf(readOnly))
+                .register(meterRegistry)).increment();
+    }
+}
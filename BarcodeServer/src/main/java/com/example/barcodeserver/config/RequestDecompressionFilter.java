@@ -0,0 +1,190 @@
+package com.example.barcodeserver.config;
+
+import com.example.barcodeserver.exception.PayloadTooLargeException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Content-Encoding: gzip/deflate 요청 본문을 풀어서 컨트롤러에 전달하는 필터.
+ * 모바일 클라이언트가 대량 업로드를 압축해서 보낼 수 있으며, 압축 폭탄을 막기 위해 풀린 크기가
+ * app.compression.request.maxInflatedBytes를 넘으면 413으로 중단합니다.
+ * 응답 압축은 server.compression.*(Accept-Encoding)으로 처리합니다.
+ */
+@Component
+public class RequestDecompressionFilter extends OncePerRequestFilter {
+
+    @Value("${app.compression.request.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.compression.request.maxInflatedBytes:52428800}")
+    private long maxInflatedBytes;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || request.getHeader(HttpHeaders.CONTENT_ENCODING) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING).trim().toLowerCase();
+        InputStream inflated;
+        try {
+            switch (encoding) {
+                case "gzip", "x-gzip" -> inflated = new GZIPInputStream(request.getInputStream(), 8192);
+                case "deflate" -> inflated = new InflaterInputStream(request.getInputStream());
+                case "identity" -> {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                default -> {
+                    response.sendError(HttpStatus.UNSUPPORTED_MEDIA_TYPE.value(), "Unsupported Content-Encoding: " + encoding);
+                    return;
+                }
+            }
+        } catch (ZipException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + encoding + " request body");
+            return;
+        }
+        try {
+            filterChain.doFilter(new DecompressedRequest(request, new LimitedInputStream(inflated, maxInflatedBytes)), response);
+        } catch (PayloadTooLargeException e) {
+            if (!response.isCommitted()) {
+                response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value(), e.getMessage());
+            }
+        }
+    }
+
+    private static class DecompressedRequest extends HttpServletRequestWrapper {
+
+        private final ServletInputStream inputStream;
+
+        DecompressedRequest(HttpServletRequest request, InputStream body) {
+            super(request);
+            this.inputStream = new ServletInputStream() {
+                @Override
+                public int read() throws IOException {
+                    return body.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    return body.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return false;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException("Async reads are not supported for compressed requests");
+                }
+
+                @Override
+                public void close() throws IOException {
+                    body.close();
+                }
+            };
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String characterEncoding = getCharacterEncoding();
+            Charset charset = characterEncoding != null ? Charset.forName(characterEncoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(inputStream, charset));
+        }
+
+        // 압축 전 길이는 의미가 없으므로 숨깁니다
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                return null;
+            }
+            return super.getHeader(name);
+        }
+    }
+
+    private static class LimitedInputStream extends InputStream {
+
+        private final InputStream delegate;
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream delegate, long limit) {
+            this.delegate = delegate;
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = delegate.read();
+            if (value != -1) {
+                advance(1);
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            if (read > 0) {
+                advance(read);
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        private void advance(int read) throws PayloadTooLargeException {
+            count += read;
+            if (count > limit) {
+                throw new PayloadTooLargeException("Decompressed request body exceeds " + limit + " bytes");
+            }
+        }
+    }
+}
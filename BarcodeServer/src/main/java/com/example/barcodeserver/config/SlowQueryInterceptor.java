@@ -0,0 +1,204 @@
+package com.example.barcodeserver.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 느린 쿼리 로그 MyBatis 인터셉터 (stdout 문 단위 로깅 대체).
+ * 실행 시간이 thresholdMs 이상인 문은 WARN으로, 나머지는 sampleRate 비율만 INFO로 barcode.slowquery 로거에 기록하며
+ * SQL, 바인딩 파라미터, 결과/변경 행 수를 함께 남깁니다. 파라미터 문자열은 기록하기로 정한 문에만 만들고,
+ * 로거는 logback-spring.xml의 비동기 appender(neverBlock)로 출력되어 요청 스레드가 콘솔 출력을 기다리지 않습니다.
+ * BATCH 실행기의 update는 문을 쌓기만 하므로 기록하지 않습니다 (실제 실행 시간은 barcode.db.statement의 flushStatements).
+ * Cursor 조회(내보내기 등 스트리밍)는 Cursor를 닫을 때 호출부터의 시간과 읽은 행 수로 판정합니다.
+ */
+@Component
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class SlowQueryInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger("barcode.slowquery");
+
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, Counter> slowCounters = new ConcurrentHashMap<>();
+
+    @Value("${app.slowQuery.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.slowQuery.thresholdMs:200}")
+    private long thresholdMs;
+
+    @Value("${app.slowQuery.sampleRate:0.001}")
+    private double sampleRate;
+
+    @Value("${app.slowQuery.maxParams:20}")
+    private int maxParams;
+
+    @Value("${app.slowQuery.maxValueLength:100}")
+    private int maxValueLength;
+
+    @Value("${app.slowQuery.maxSqlLength:2000}")
+    private int maxSqlLength;
+
+    public SlowQueryInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (!enabled) {
+            return invocation.proceed();
+        }
+        long startTime = System.nanoTime();
+        Object[] args = invocation.getArgs();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invocation.proceed();
+            if (result instanceof Cursor<?> cursor) {
+                return ObservedCursor.onClose(cursor, closed ->
+                        finish(args, closed.getCurrentIndex() + 1, null, startTime));
+            }
+            return result;
+        } catch (Throwable t) {
+            failure = t;
+            throw t;
+        } finally {
+            if (!(result instanceof Cursor<?>)) {
+                boolean batched = result instanceof Integer count && count == BatchExecutor.BATCH_UPDATE_RETURN_VALUE;
+                if (!batched) {
+                    finish(args, rowCount(args, result), failure, startTime);
+                }
+            }
+        }
+    }
+
+    private void finish(Object[] args, long rows, Throwable failure, long startTime) {
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        boolean slow = elapsedMs >= thresholdMs;
+        if (slow || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            record(args, rows, failure, elapsedMs, slow);
+        }
+    }
+
+    private void record(Object[] args, long rows, Throwable failure, long elapsedMs, boolean slow) {
+        try {
+            MappedStatement mappedStatement = (MappedStatement) args[0];
+            Object parameter = args[1];
+            BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : mappedStatement.getBoundSql(parameter);
+            String statement = MyBatisMetricsInterceptor.shortId(mappedStatement.getId());
+
+            if (slow) {
+                slowCounters.computeIfAbsent(statement, key -> Counter.builder("barcode.db.slowquery")
+                        .description("Mapper statements slower than app.slowQuery.thresholdMs")
+                        .tag("statement", key)
+                        .register(meterRegistry))
+                        .increment();
+            }
+            Level level = slow ? Level.WARN : Level.INFO;
+            if (!log.isEnabledForLevel(level)) {
+                return;
+            }
+            log.atLevel(level).log("{} query statement={} elapsedMs={} rows={} outcome={} sql=[{}] params={}",
+                    slow ? "Slow" : "Sampled", statement, elapsedMs, rows, failure == null ? "SUCCESS" : "ERROR",
+                    formatSql(boundSql.getSql()), formatParameters(mappedStatement, boundSql, parameter));
+        } catch (Exception e) {
+            log.debug("Failed to record query log", e);
+        }
+    }
+
+    /**
+     * 조회는 결과 행 수, 변경은 영향받은 행 수. ResultHandler로 흘려보낸 조회는 -1입니다 (Cursor 조회는 읽은 행 수).
+     */
+    private static long rowCount(Object[] args, Object result) {
+        if (args.length > 3 && args[3] != null && args[3] != Executor.NO_RESULT_HANDLER) {
+            return -1;
+        }
+        if (result instanceof List<?> rows) {
+            return rows.size();
+        }
+        if (result instanceof Integer count) {
+            return count;
+        }
+        return -1;
+    }
+
+    private String formatSql(String sql) {
+        String collapsed = sql.replaceAll("\\s+", " ").trim();
+        return collapsed.length() > maxSqlLength ? collapsed.substring(0, maxSqlLength) + "..." : collapsed;
+    }
+
+    /**
+     * DefaultParameterHandler와 같은 순서로 바인딩 값을 구합니다. 긴 값과 많은 파라미터(IN 목록 등)는 잘라서 기록합니다.
+     */
+    private String formatParameters(MappedStatement mappedStatement, BoundSql boundSql, Object parameter) {
+        Configuration configuration = mappedStatement.getConfiguration();
+        List<ParameterMapping> mappings = boundSql.getParameterMappings();
+        StringBuilder formatted = new StringBuilder("[");
+        MetaObject metaObject = null;
+        int limit = Math.min(mappings.size(), maxParams);
+        for (int i = 0; i < limit; i++) {
+            ParameterMapping mapping = mappings.get(i);
+            if (mapping.getMode() == ParameterMode.OUT) {
+                continue;
+            }
+            String property = mapping.getProperty();
+            Object value;
+            if (boundSql.hasAdditionalParameter(property)) {
+                value = boundSql.getAdditionalParameter(property);
+            } else if (parameter == null) {
+                value = null;
+            } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+                value = parameter;
+            } else {
+                if (metaObject == null) {
+                    metaObject = configuration.newMetaObject(parameter);
+                }
+                value = metaObject.getValue(property);
+            }
+            if (formatted.length() > 1) {
+                formatted.append(", ");
+            }
+            String text = String.valueOf(value);
+            formatted.append(text.length() > maxValueLength ? text.substring(0, maxValueLength) + "..." : text);
+        }
+        if (mappings.size() > limit) {
+            formatted.append(", ... ").append(mappings.size() - limit).append(" more");
+        }
+        return formatted.append(']').toString();
+    }
+}
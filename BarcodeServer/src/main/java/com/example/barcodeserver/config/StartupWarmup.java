@@ -0,0 +1,124 @@
+package com.example.barcodeserver.config;
+
+import com.example.barcodeserver.service.BarcodeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기동 직후 백그라운드 워밍업 (app.warmup.enabled=true, faststart 프로파일에서 사용).
+ * 지연 초기화(spring.main.lazy-initialization)로 포트를 먼저 연 뒤, 첫 요청들이 빈 생성/커넥션 연결/건수 집계 비용을
+ * 치르지 않도록 아직 생성되지 않은 싱글톤 빈을 만들고, Hikari 커넥션을 미리 확보하고, 건수 캐시를 채웁니다.
+ * 지연 생성된 빈의 @Scheduled 작업도 빈이 생성되어야 등록되므로 이 단계에서 시작됩니다.
+ * 실패해도 서비스에는 영향이 없으며 첫 요청이 해당 비용을 치릅니다.
+ */
+@Component
+public class StartupWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupWarmup.class);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BarcodeService barcodeService;
+
+    @Value("${app.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.warmup.connections:${spring.datasource.hikari.minimum-idle:10}}")
+    private int connections;
+
+    @Value("${app.warmup.barcodeTypes:EAN13,EAN8,UPC,Code128,QR}")
+    private List<String> barcodeTypes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!enabled) {
+            return;
+        }
+        ConfigurableListableBeanFactory beanFactory = event.getApplicationContext().getBeanFactory();
+        Thread thread = new Thread(() -> {
+            long start = System.nanoTime();
+            int created = instantiateSingletons(beanFactory);
+            long beansDone = System.nanoTime();
+            int opened = openConnections();
+            long connectionsDone = System.nanoTime();
+            loadCounts();
+            long end = System.nanoTime();
+            log.info("Startup warm-up finished in {}ms (beans: {} in {}ms, connections: {} in {}ms, caches: {}ms)",
+                    (end - start) / 1_000_000, created, (beansDone - start) / 1_000_000,
+                    opened, (connectionsDone - beansDone) / 1_000_000, (end - connectionsDone) / 1_000_000);
+        }, "barcode-startup-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 아직 생성되지 않은 싱글톤 빈 생성. preInstantiateSingletons는 SmartInitializingSingleton 콜백을 다시 호출하므로
+     * 사용하지 않고 빈을 하나씩 조회합니다 (요청 스레드와 동시에 생성해도 싱글톤은 한 번만 만들어집니다).
+     */
+    private int instantiateSingletons(ConfigurableListableBeanFactory beanFactory) {
+        int created = 0;
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            try {
+                BeanDefinition definition = beanFactory.getMergedBeanDefinition(beanName);
+                if (definition.isAbstract() || !definition.isSingleton() || beanFactory.containsSingleton(beanName)) {
+                    continue;
+                }
+                beanFactory.getBean(beanName);
+                created++;
+            } catch (Exception e) {
+                log.debug("Warm-up skipped bean {}: {}", beanName, e.getMessage());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * 커넥션을 동시에 connections개까지 열었다가 반납하여 풀에 연결을 채워 둡니다.
+     */
+    private int openConnections() {
+        List<Connection> opened = new ArrayList<>(connections);
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = dataSource.getConnection();
+                opened.add(connection);
+                connection.isValid(5);
+            }
+        } catch (Exception e) {
+            log.warn("Connection warm-up stopped after {} connections: {}", opened.size(), e.getMessage());
+        } finally {
+            for (Connection connection : opened) {
+                try {
+                    connection.close();
+                } catch (Exception e) {
+                    log.debug("Failed to return warm-up connection", e);
+                }
+            }
+        }
+        return opened.size();
+    }
+
+    private void loadCounts() {
+        try {
+            barcodeService.getTotalBarcodesCount();
+            for (String barcodeType : barcodeTypes) {
+                barcodeService.getBarcodesCountByType(barcodeType);
+            }
+        } catch (Exception e) {
+            log.warn("Cache warm-up failed: {}", e.getMessage());
+        }
+    }
+}
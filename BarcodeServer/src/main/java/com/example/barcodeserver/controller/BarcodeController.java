@@ -1,25 +1,60 @@
 package com.example.barcodeserver.controller;
 
+import com.example.barcodeserver.config.BarcodeValueHash;
+import com.example.barcodeserver.config.BinaryFormatConfig;
+import com.example.barcodeserver.config.ReplicaRoutingDataSource;
+import com.example.barcodeserver.dto.ApiResult;
+import com.example.barcodeserver.dto.BarcodeBatchColumns;
+import com.example.barcodeserver.dto.BarcodeCursor;
 import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.BarcodeExistsRequest;
+import com.example.barcodeserver.dto.BarcodeFields;
+import com.example.barcodeserver.dto.BarcodeSyncResult;
+import com.example.barcodeserver.dto.BarcodeUploadJob;
+import com.example.barcodeserver.dto.BulkIngestResult;
+import com.example.barcodeserver.dto.CountResult;
+import com.example.barcodeserver.dto.PageResult;
+import com.example.barcodeserver.dto.SyncToken;
+import com.example.barcodeserver.dto.SystemHealth;
+import com.example.barcodeserver.exception.PayloadTooLargeException;
+import com.example.barcodeserver.service.BarcodeArchiveService;
+import com.example.barcodeserver.service.BarcodeExistenceIndex;
+import com.example.barcodeserver.service.BarcodeExportService;
 import com.example.barcodeserver.service.BarcodeService;
+import com.example.barcodeserver.service.BarcodeStatsService;
+import com.example.barcodeserver.service.BarcodeSyncService;
+import com.example.barcodeserver.service.BarcodeUploadJobService;
+import com.example.barcodeserver.service.BulkIngestService;
+import com.example.barcodeserver.service.WriteBehindIngestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotEmpty;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.jdbc.core.JdbcTemplate;
 
-import java.util.HashMap;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/barcodes")
@@ -31,11 +66,57 @@ public class BarcodeController {
     @Autowired
     private BarcodeService barcodeService;
     
+    @Autowired
+    private BarcodeExportService barcodeExportService;
+    
+    @Autowired
+    private BulkIngestService bulkIngestService;
+    
+    @Autowired
+    private WriteBehindIngestService writeBehindIngestService;
+
+    @Autowired
+    private BarcodeUploadJobService uploadJobService;
+    
+    @Autowired
+    private BarcodeExistenceIndex barcodeExistenceIndex;
+    
+    @Autowired
+    private BarcodeStatsService barcodeStatsService;
+    
+    @Autowired
+    private BarcodeSyncService barcodeSyncService;
+    
+    @Autowired
+    private BarcodeArchiveService barcodeArchiveService;
+
+    @Autowired
+    private BarcodeValueHash barcodeValueHash;
+    
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Autowired
+    private Validator validator;
+    
+    // app.datasource.replica.enabled=true일 때만 존재
+    @Autowired(required = false)
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+    
     @Value("${app.batch.maxSize:100}")
     private int maxBatchSize;
+    
+    @Value("${app.exists.maxValues:5000}")
+    private int maxExistsValues;
+    
+    @Value("${app.sync.maxLimit:1000}")
+    private int maxSyncLimit;
+    
+    @Value("${app.search.maxResults:1000}")
+    private int maxSearchResults;
+    
+    @Value("${app.search.minPrefixLength:4}")
+    private int minSearchPrefixLength;
 
     @PostMapping
     @Operation(summary = "바코드 생성", description = "새로운 바코드를 생성합니다")
@@ -44,58 +125,201 @@ public class BarcodeController {
             @ApiResponse(responseCode = "409", description = "이미 존재하는 바코드"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> createBarcode(@Valid @RequestBody BarcodeDto barcodeDto) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResult<?>> createBarcode(@Valid @RequestBody BarcodeDto barcodeDto) {
         try {
             if (barcodeService.existsByBarcodeValue(barcodeDto.getBarcodeValue())) {
-                response.put("success", false);
-                response.put("message", "Barcode already exists");
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error("Barcode already exists"));
             }
             
             barcodeService.saveBarcode(barcodeDto);
-            response.put("success", true);
-            response.put("message", "Barcode created successfully");
-            response.put("data", barcodeDto);
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResult.ok("Barcode created successfully", barcodeDto));
+        } catch (DuplicateKeyException e) {
+            // 존재 확인과 INSERT 사이에 같은 값이 저장된 경우
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error("Barcode already exists"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error creating barcode: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error creating barcode: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/async")
+    @Operation(summary = "바코드 비동기 생성", description = "바코드를 메모리 큐에 넣고 즉시 응답합니다. 백그라운드에서 모아서 일괄 저장하며, 이미 존재하는 값은 저장 시 건너뜁니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "큐 적재 성공"),
+            @ApiResponse(responseCode = "429", description = "큐가 가득 참 (잠시 후 재시도)"),
+            @ApiResponse(responseCode = "503", description = "비동기 적재 모드가 비활성화됨")
+    })
+    public ResponseEntity<ApiResult<?>> createBarcodeAsync(@Valid @RequestBody BarcodeDto barcodeDto) {
+        if (!writeBehindIngestService.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResult.error("Async ingest is disabled (app.ingest.async.enabled=false)"));
+        }
+        try {
+            if (!writeBehindIngestService.enqueue(barcodeDto)) {
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(ApiResult.error("Ingest queue is full, retry later"));
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResult.ok("Barcode accepted"));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResult.error(e.getMessage()));
         }
     }
 
     @PostMapping("/batch")
-    @Operation(summary = "다중 바코드 생성", description = "여러 바코드를 한번에 생성합니다")
+    @Operation(summary = "다중 바코드 생성", description = "여러 바코드를 한번에 생성합니다. mode=upsert면 이미 저장된 값은 건너뛰므로 재시도해도 중복이 생기지 않습니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "바코드들 생성 성공"),
+            @ApiResponse(responseCode = "409", description = "이미 존재하는 바코드 포함 (mode=insert)"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> createBarcodes(@Valid @RequestBody @NotEmpty List<@Valid BarcodeDto> barcodes) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResult<?>> createBarcodes(
+            @Valid @RequestBody @NotEmpty List<@Valid BarcodeDto> barcodes,
+            @Parameter(description = "insert 또는 upsert") @RequestParam(defaultValue = "insert") String mode) {
+        return saveBatch(barcodes, mode);
+    }
+
+    @PostMapping(value = "/batch", consumes = {BinaryFormatConfig.COLUMNAR_JSON_VALUE, BinaryFormatConfig.COLUMNAR_CBOR_VALUE})
+    @Operation(summary = "다중 바코드 생성 (열 단위)", description = "바코드 값 배열과 타입/휴대폰 모델 사전 및 인덱스 배열로 이루어진 압축 형식입니다. JSON 또는 CBOR, gzip/deflate 압축 본문을 지원합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "바코드들 생성 성공"),
+            @ApiResponse(responseCode = "400", description = "열 길이/인덱스 불일치 또는 검증 실패"),
+            @ApiResponse(responseCode = "409", description = "이미 존재하는 바코드 포함 (mode=insert)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> createBarcodesColumnar(
+            @Valid @RequestBody BarcodeBatchColumns columns,
+            @Parameter(description = "insert 또는 upsert") @RequestParam(defaultValue = "insert") String mode) {
+        List<BarcodeDto> barcodes = columns.toBarcodes();
+        Set<ConstraintViolation<BarcodeDto>> violations = new LinkedHashSet<>();
+        for (BarcodeDto barcode : barcodes) {
+            violations.addAll(validator.validate(barcode));
+        }
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        return saveBatch(barcodes, mode);
+    }
+
+    private ResponseEntity<ApiResult<?>> saveBatch(List<BarcodeDto> barcodes, String mode) {
         try {
             // 배치 크기 검증
             if (barcodes == null || barcodes.isEmpty()) {
-                response.put("success", false);
-                response.put("message", "Barcode list cannot be empty");
-                return ResponseEntity.badRequest().body(response);
+                return ResponseEntity.badRequest().body(ApiResult.error("Barcode list cannot be empty"));
             }
             
             if (barcodes.size() > maxBatchSize) {
-                response.put("success", false);
-                response.put("message", "Batch size exceeds maximum allowed: " + maxBatchSize + ". Current size: " + barcodes.size());
-                return ResponseEntity.badRequest().body(response);
+                return ResponseEntity.badRequest().body(ApiResult.error("Batch size exceeds maximum allowed: " + maxBatchSize + ". Current size: " + barcodes.size()));
             }
             
+            Boolean upsert = parseIngestMode(mode);
+            if (upsert == null) {
+                return ResponseEntity.badRequest().body(ApiResult.error("Unsupported mode: " + mode + " (insert, upsert)"));
+            }
+            
+            if (upsert) {
+                int inserted = barcodeService.upsertBarcodes(barcodes);
+                return ResponseEntity.status(HttpStatus.CREATED).body(ApiResult.ok(
+                        "Barcodes created successfully (" + (barcodes.size() - inserted) + " existing skipped)", null, inserted));
+            }
             barcodeService.saveBarcodes(barcodes);
-            response.put("success", true);
-            response.put("message", "Barcodes created successfully");
-            response.put("count", barcodes.size());
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(HttpStatus.CREATED).body(ApiResult.ok("Barcodes created successfully", null, barcodes.size()));
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error("Batch contains existing barcode values; retry with mode=upsert to skip them"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error creating barcodes: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson"})
+    @Operation(summary = "대량 바코드 적재", description = "JSON 배열 또는 NDJSON 본문을 스트리밍으로 파싱하여 청크 단위로 배치 INSERT 및 커밋합니다. 건수 제한이 없으며, mode=upsert면 이미 저장된 값은 건너뜁니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "적재 완료 (청크별 결과 포함)"),
+            @ApiResponse(responseCode = "400", description = "입력 형식 오류 (오류 이전 청크는 이미 커밋됨)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> bulkIngestBarcodes(
+            InputStream body,
+            @Parameter(description = "insert 또는 upsert") @RequestParam(defaultValue = "insert") String mode) {
+        Boolean upsert = parseIngestMode(mode);
+        if (upsert == null) {
+            return ResponseEntity.badRequest().body(ApiResult.error("Unsupported mode: " + mode + " (insert, upsert)"));
+        }
+        try {
+            BulkIngestResult result = bulkIngestService.ingest(body, upsert);
+            ApiResult<BulkIngestResult> response = new ApiResult<>(result.isCompleted() && result.getFailedRows() == 0,
+                    result.isCompleted() ? "Bulk ingest finished" : result.getMessage(), result, null);
+            return ResponseEntity.status(result.isCompleted() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST).body(response);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error ingesting barcodes: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/jobs", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "application/x-ndjson"})
+    @Operation(summary = "비동기 대량 업로드 작업 등록", description = "본문(JSON 배열 또는 NDJSON)을 받아 두고 즉시 202와 작업 ID를 반환합니다. 적재는 작업 풀에서 청크 단위로 진행되며 GET /jobs/{jobId}로 진행 상황을 조회합니다. 같은 Idempotency-Key로 다시 보내면 기존 작업을 반환합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "작업 접수 (Location 헤더에 상태 조회 경로)"),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 mode"),
+            @ApiResponse(responseCode = "413", description = "본문 크기 초과"),
+            @ApiResponse(responseCode = "503", description = "작업 대기열이 가득 참 (Retry-After 이후 재시도)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> submitUploadJob(
+            InputStream body,
+            @Parameter(description = "insert 또는 upsert") @RequestParam(defaultValue = "insert") String mode,
+            @Parameter(description = "재전송 시 같은 작업을 돌려받기 위한 클라이언트 생성 키") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        Boolean upsert = parseIngestMode(mode);
+        if (upsert == null) {
+            return ResponseEntity.badRequest().body(ApiResult.error("Unsupported mode: " + mode + " (insert, upsert)"));
+        }
+        try {
+            BarcodeUploadJobService.Submission submission = uploadJobService.submit(body, upsert, idempotencyKey);
+            BarcodeUploadJob job = submission.job();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, "/api/barcodes/jobs/" + job.getJobId())
+                    .body(ApiResult.ok(submission.duplicate() ? "Upload already accepted" : "Upload accepted", job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(ApiResult.error("Upload job queue is full, retry later"));
+        } catch (PayloadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(ApiResult.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error accepting upload: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "업로드 작업 상태 조회", description = "작업 상태(QUEUED, RUNNING, COMPLETED, FAILED), 처리/적재/실패 행 수, 처리 속도(rowsPerSecond), 행 단위 오류를 반환합니다. 완료된 작업은 보관 기간(app.jobs.retentionMinutes) 동안 조회할 수 있습니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "404", description = "작업을 찾을 수 없음 (만료 또는 다른 인스턴스)")
+    })
+    public ResponseEntity<ApiResult<?>> getUploadJob(
+            @Parameter(description = "작업 ID", required = true) @PathVariable String jobId) {
+        BarcodeUploadJob job = uploadJobService.getJob(jobId);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error("Upload job not found"));
+        }
+        return ResponseEntity.ok(ApiResult.of(job));
+    }
+
+    @PostMapping("/exists")
+    @Operation(summary = "다중 바코드 존재 여부 확인", description = "여러 바코드 값 중 이미 저장된 값을 한 번의 요청으로 확인합니다 (업로드 전 중복 제거용)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "확인 성공"),
+            @ApiResponse(responseCode = "400", description = "요청 값 개수 초과"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> checkBarcodesExist(@Valid @RequestBody BarcodeExistsRequest request) {
+        try {
+            List<String> values = request.getBarcodeValues();
+            if (values.size() > maxExistsValues) {
+                return ResponseEntity.badRequest().body(ApiResult.error("Too many values: maximum " + maxExistsValues + ", requested " + values.size()));
+            }
+            
+            Set<String> existing = barcodeService.findExistingBarcodeValues(values);
+            return ResponseEntity.ok(ApiResult.of(existing, existing.size()));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error creating barcodes: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error checking barcodes: " + e.getMessage()));
         }
     }
 
@@ -106,24 +330,21 @@ public class BarcodeController {
             @ApiResponse(responseCode = "404", description = "바코드를 찾을 수 없음"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> getBarcodeById(
-            @Parameter(description = "바코드 ID", required = true) @PathVariable Long barcodeId) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResult<?>> getBarcodeById(
+            @Parameter(description = "바코드 ID", required = true) @PathVariable Long barcodeId,
+            @Parameter(description = "없으면 아카이브에서도 조회") @RequestParam(defaultValue = "false") boolean includeArchived) {
         try {
             BarcodeDto barcode = barcodeService.getBarcodeById(barcodeId);
+            if (barcode == null && includeArchived) {
+                barcode = barcodeArchiveService.getArchivedBarcodeById(barcodeId);
+            }
             if (barcode != null) {
-                response.put("success", true);
-                response.put("data", barcode);
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok(ApiResult.of(barcode));
             } else {
-                response.put("success", false);
-                response.put("message", "Barcode not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error("Barcode not found"));
             }
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error retrieving barcode: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error retrieving barcode: " + e.getMessage()));
         }
     }
 
@@ -134,38 +355,39 @@ public class BarcodeController {
             @ApiResponse(responseCode = "404", description = "바코드를 찾을 수 없음"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> getBarcodeByValue(
-            @Parameter(description = "바코드 값", required = true) @PathVariable String barcodeValue) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResult<?>> getBarcodeByValue(
+            @Parameter(description = "바코드 값", required = true) @PathVariable String barcodeValue,
+            @Parameter(description = "없으면 아카이브에서도 조회") @RequestParam(defaultValue = "false") boolean includeArchived) {
         try {
             BarcodeDto barcode = barcodeService.getBarcodeByValue(barcodeValue);
+            if (barcode == null && includeArchived) {
+                barcode = barcodeArchiveService.getArchivedBarcodeByValue(barcodeValue);
+            }
             if (barcode != null) {
-                response.put("success", true);
-                response.put("data", barcode);
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok(ApiResult.of(barcode));
             } else {
-                response.put("success", false);
-                response.put("message", "Barcode not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error("Barcode not found"));
             }
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error retrieving barcode: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error retrieving barcode: " + e.getMessage()));
         }
     }
 
     @GetMapping
-    @Operation(summary = "전체 바코드 조회", description = "모든 바코드 목록을 조회합니다 (페이징 지원)")
+    @Operation(summary = "전체 바코드 조회", description = "모든 바코드 목록을 조회합니다 (페이지 번호 또는 커서 기반 페이징 지원)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서 또는 필드명"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> getAllBarcodes(
+    public ResponseEntity<PageResult<BarcodeDto>> getAllBarcodes(
             @Parameter(description = "페이지 번호 (0부터 시작)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "50") int size) {
-        Map<String, Object> response = new HashMap<>();
+            @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "커서 페이징 토큰 (빈 값이면 첫 페이지, 지정 시 page는 무시)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "커서 페이징 시 전체 개수 포함 여부") @RequestParam(defaultValue = "false") boolean includeTotal,
+            @Parameter(description = "응답 필드: full(기본), summary(barcodeId, barcodeType, status, createdDate) 또는 쉼표 구분 필드명") @RequestParam(required = false) String fields) {
         try {
+            BarcodeFields selectedFields = BarcodeFields.parse(fields);
             // 페이지 크기 제한
             if (size > 100) {
                 size = 100;
@@ -177,56 +399,150 @@ public class BarcodeController {
                 page = 0;
             }
             
+            if (cursor != null) {
+                return getBarcodesByCursor(cursor, size, includeTotal, selectedFields);
+            }
+            
             int totalCount = barcodeService.getTotalBarcodesCount();
             int offset = page * size;
             
             List<BarcodeDto> barcodes;
             if (offset >= totalCount) {
-                barcodes = new java.util.ArrayList<>();
+                barcodes = List.of();
             } else {
-                barcodes = barcodeService.getBarcodesPaginated(offset, size);
+                barcodes = barcodeService.getBarcodesPaginated(offset, size, selectedFields);
             }
             
-            int totalPages = (int) Math.ceil((double) totalCount / size);
+            return ResponseEntity.ok(PageResult.of(barcodes, PageResult.Pagination.ofPage(page, size, totalCount)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(PageResult.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(PageResult.error("Error retrieving barcodes: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * 커서 기반 페이징 응답을 생성합니다.
+     * 다음 페이지 존재 여부는 size + 1개를 조회하여 판단하며, 전체 개수는 요청한 경우에만 조회합니다.
+     */
+    private ResponseEntity<PageResult<BarcodeDto>> getBarcodesByCursor(String cursor, int size, boolean includeTotal,
+                                                                       BarcodeFields fields) {
+        BarcodeCursor after = cursor.isBlank() ? null : BarcodeCursor.decode(cursor);
+        List<BarcodeDto> barcodes = barcodeService.getBarcodesAfterCursor(after, size + 1, fields);
+        
+        boolean hasNext = barcodes.size() > size;
+        if (hasNext) {
+            barcodes = barcodes.subList(0, size);
+        }
+        
+        String nextCursor = hasNext ? BarcodeCursor.of(barcodes.get(barcodes.size() - 1)).encode() : null;
+        Integer totalElements = includeTotal ? barcodeService.getTotalBarcodesCount() : null;
+        return ResponseEntity.ok(PageResult.of(barcodes, PageResult.Pagination.ofCursor(size, nextCursor, totalElements)));
+    }
+
+    @GetMapping("/sync")
+    @Operation(summary = "변경 동기화", description = "토큰 이후 생성/수정/삭제된 바코드만 반환합니다. 토큰 없이 호출하면 전체를 처음부터 전달하며, 응답의 nextToken을 저장해 다음 동기화에 사용합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "동기화 성공 (hasMore가 true면 nextToken으로 이어서 요청)"),
+            @ApiResponse(responseCode = "400", description = "잘못된 토큰"),
+            @ApiResponse(responseCode = "410", description = "토큰이 너무 오래되어 전체 재동기화 필요"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> syncBarcodes(
+            @Parameter(description = "이전 응답의 nextToken (없으면 초기 동기화)") @RequestParam(required = false) String token,
+            @Parameter(description = "한 번에 받을 최대 변경 수 (생성/수정, 삭제 각각)") @RequestParam(defaultValue = "500") int limit) {
+        try {
+            if (limit < 1) {
+                limit = 500;
+            }
+            if (limit > maxSyncLimit) {
+                limit = maxSyncLimit;
+            }
             
-            response.put("success", true);
-            response.put("data", barcodes);
-            response.put("pagination", Map.of(
-                "currentPage", page,
-                "pageSize", size,
-                "totalElements", totalCount,
-                "totalPages", totalPages,
-                "hasNext", page < totalPages - 1,
-                "hasPrevious", page > 0
-            ));
+            SyncToken syncToken = token == null || token.isBlank() ? null : SyncToken.decode(token);
+            if (barcodeSyncService.isResyncRequired(syncToken)) {
+                // 410 자체가 재동기화 신호입니다
+                return ResponseEntity.status(HttpStatus.GONE).body(ApiResult.error("Sync token expired, full resync required (call without token)"));
+            }
             
-            return ResponseEntity.ok(response);
+            BarcodeSyncResult result = barcodeSyncService.getChanges(syncToken, limit);
+            return ResponseEntity.ok(ApiResult.of(result, result.getUpserts().size() + result.getDeletes().size()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage()));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error retrieving barcodes: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error syncing barcodes: " + e.getMessage()));
         }
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "바코드 스트리밍 내보내기", description = "바코드 목록을 NDJSON 또는 CSV로 스트리밍합니다. 결과 크기와 무관하게 서버 메모리 사용량이 일정합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "내보내기 시작"),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 형식")
+    })
+    public ResponseEntity<?> exportBarcodes(
+            @Parameter(description = "출력 형식 (ndjson, csv)") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "바코드 타입 필터") @RequestParam(required = false) String barcodeType,
+            @Parameter(description = "상태 필터 (ACTIVE, INACTIVE)") @RequestParam(required = false) String status,
+            @Parameter(description = "휴대폰 모델명 검색어") @RequestParam(required = false) String productName) {
+        BarcodeExportService.Format exportFormat = parseExportFormat(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().body(ApiResult.error("Unsupported export format: " + format));
+        }
+        
+        StreamingResponseBody body = out ->
+                barcodeExportService.export(exportFormat, barcodeType, status, productName, out);
+        
+        if (exportFormat == BarcodeExportService.Format.CSV) {
+            return ResponseEntity.ok()
+                    .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"barcodes.csv\"")
+                    .body(body);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private BarcodeExportService.Format parseExportFormat(String format) {
+        for (BarcodeExportService.Format candidate : BarcodeExportService.Format.values()) {
+            if (candidate.name().equalsIgnoreCase(format)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 적재 모드를 해석합니다. upsert면 true, insert면 false, 그 외에는 null을 반환합니다.
+     */
+    private Boolean parseIngestMode(String mode) {
+        if ("upsert".equalsIgnoreCase(mode)) {
+            return true;
+        }
+        if ("insert".equalsIgnoreCase(mode)) {
+            return false;
+        }
+        return null;
+    }
+
     @GetMapping("/type/{barcodeType}")
     @Operation(summary = "타입별 바코드 조회", description = "바코드 타입별로 바코드 목록을 조회합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "알 수 없는 필드명"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> getBarcodesByType(
-            @Parameter(description = "바코드 타입 (예: EAN13, UPC, Code128)", required = true) @PathVariable String barcodeType) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResult<?>> getBarcodesByType(
+            @Parameter(description = "바코드 타입 (예: EAN13, UPC, Code128)", required = true) @PathVariable String barcodeType,
+            @Parameter(description = "응답 필드: full(기본), summary(barcodeId, barcodeType, status, createdDate) 또는 쉼표 구분 필드명") @RequestParam(required = false) String fields) {
         try {
-            List<BarcodeDto> barcodes = barcodeService.getBarcodesByType(barcodeType);
-            response.put("success", true);
-            response.put("data", barcodes);
-            response.put("count", barcodes.size());
-            return ResponseEntity.ok(response);
+            List<BarcodeDto> barcodes = barcodeService.getBarcodesByType(barcodeType, BarcodeFields.parse(fields));
+            return ResponseEntity.ok(ApiResult.of(barcodes, barcodes.size()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage()));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error retrieving barcodes: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error retrieving barcodes: " + e.getMessage()));
         }
     }
 
@@ -234,43 +550,87 @@ public class BarcodeController {
     @Operation(summary = "카테고리별 바코드 조회", description = "카테고리별로 바코드 목록을 조회합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "400", description = "알 수 없는 필드명"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> getBarcodesByCategory(
-            @Parameter(description = "카테고리명", required = true) @PathVariable String category) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResult<?>> getBarcodesByCategory(
+            @Parameter(description = "카테고리명", required = true) @PathVariable String category,
+            @Parameter(description = "응답 필드: full(기본), summary(barcodeId, barcodeType, status, createdDate) 또는 쉼표 구분 필드명") @RequestParam(required = false) String fields) {
         try {
-            List<BarcodeDto> barcodes = barcodeService.getBarcodesByCategory(category);
-            response.put("success", true);
-            response.put("data", barcodes);
-            response.put("count", barcodes.size());
-            return ResponseEntity.ok(response);
+            List<BarcodeDto> barcodes = barcodeService.getBarcodesByCategory(category, BarcodeFields.parse(fields));
+            return ResponseEntity.ok(ApiResult.of(barcodes, barcodes.size()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResult.error(e.getMessage()));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error retrieving barcodes: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error retrieving barcodes: " + e.getMessage()));
         }
     }
 
     @GetMapping("/search")
-    @Operation(summary = "휴대폰 모델로 바코드 검색", description = "휴대폰 모델명으로 바코드를 검색합니다")
+    @Operation(summary = "바코드 검색", description = "휴대폰 모델/바코드 값을 ngram 전문 검색 인덱스로 부분 문자열 검색하여 관련도순으로 페이징합니다. match=prefix면 바코드 값 접두어로 검색합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "검색 성공"),
+            @ApiResponse(responseCode = "400", description = "검색어가 너무 짧거나 잘못된 옵션"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> searchBarcodes(
-            @Parameter(description = "검색할 휴대폰 모델명", required = true) @RequestParam String productName) {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<PageResult<BarcodeDto>> searchBarcodes(
+            @Parameter(description = "검색어 (공백으로 나눈 단어가 모두 포함된 결과)") @RequestParam(required = false) String q,
+            @Parameter(description = "검색할 휴대폰 모델명 (q 대신 사용, field=phoneModel과 같음)") @RequestParam(required = false) String productName,
+            @Parameter(description = "검색 대상: all, phoneModel, barcodeValue") @RequestParam(defaultValue = "all") String field,
+            @Parameter(description = "contains(부분 문자열) 또는 prefix(바코드 값 접두어)") @RequestParam(defaultValue = "contains") String match,
+            @Parameter(description = "페이지 번호 (0부터 시작)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "페이지 크기") @RequestParam(defaultValue = "20") int size) {
         try {
-            List<BarcodeDto> barcodes = barcodeService.searchBarcodesByProductName(productName);
-            response.put("success", true);
-            response.put("data", barcodes);
-            response.put("count", barcodes.size());
-            return ResponseEntity.ok(response);
+            if (q == null && productName != null) {
+                q = productName;
+                field = "phoneModel";
+            }
+            if (q == null || q.isBlank()) {
+                return ResponseEntity.badRequest().body(PageResult.error("Search query (q) is required"));
+            }
+            
+            // 페이지 크기 및 깊이 제한 (관련도 정렬은 깊은 페이지일수록 비용이 커짐)
+            if (size > 100) {
+                size = 100;
+            }
+            if (size < 1) {
+                size = 20;
+            }
+            if (page < 0) {
+                page = 0;
+            }
+            int offset = page * size;
+            if (offset + size > maxSearchResults) {
+                return ResponseEntity.badRequest().body(PageResult.error("Search results are limited to the first " + maxSearchResults + " rows; refine the query"));
+            }
+            
+            List<BarcodeDto> barcodes;
+            if ("prefix".equalsIgnoreCase(match)) {
+                if (q.length() < minSearchPrefixLength) {
+                    return ResponseEntity.badRequest().body(PageResult.error("Prefix must be at least " + minSearchPrefixLength + " characters"));
+                }
+                barcodes = barcodeService.searchBarcodesByValuePrefix(q, offset, size + 1);
+            } else if ("contains".equalsIgnoreCase(match)) {
+                boolean phoneModel = "all".equalsIgnoreCase(field) || "phoneModel".equalsIgnoreCase(field);
+                boolean barcodeValue = "all".equalsIgnoreCase(field) || "barcodeValue".equalsIgnoreCase(field);
+                if (!phoneModel && !barcodeValue) {
+                    return ResponseEntity.badRequest().body(PageResult.error("Unsupported field: " + field + " (all, phoneModel, barcodeValue)"));
+                }
+                barcodes = barcodeService.searchBarcodes(q, phoneModel, barcodeValue, offset, size + 1);
+            } else {
+                return ResponseEntity.badRequest().body(PageResult.error("Unsupported match: " + match + " (contains, prefix)"));
+            }
+            
+            boolean hasNext = barcodes.size() > size;
+            if (hasNext) {
+                barcodes = barcodes.subList(0, size);
+            }
+            
+            return ResponseEntity.ok(PageResult.of(barcodes, barcodes.size(), PageResult.Pagination.ofPage(page, size, hasNext)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(PageResult.error(e.getMessage()));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error searching barcodes: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(PageResult.error("Error searching barcodes: " + e.getMessage()));
         }
     }
 
@@ -279,30 +639,26 @@ public class BarcodeController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "수정 성공"),
             @ApiResponse(responseCode = "404", description = "바코드를 찾을 수 없음"),
+            @ApiResponse(responseCode = "409", description = "같은 값의 다른 바코드가 이미 존재"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> updateBarcode(
+    public ResponseEntity<ApiResult<?>> updateBarcode(
             @Parameter(description = "바코드 ID", required = true) @PathVariable Long barcodeId, 
             @Valid @RequestBody BarcodeDto barcodeDto) {
-        Map<String, Object> response = new HashMap<>();
         try {
             BarcodeDto existingBarcode = barcodeService.getBarcodeById(barcodeId);
             if (existingBarcode == null) {
-                response.put("success", false);
-                response.put("message", "Barcode not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error("Barcode not found"));
             }
             
             barcodeDto.setBarcodeId(barcodeId);
             barcodeService.updateBarcode(barcodeDto);
-            response.put("success", true);
-            response.put("message", "Barcode updated successfully");
-            response.put("data", barcodeDto);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResult.ok("Barcode updated successfully", barcodeDto));
+        } catch (DuplicateKeyException e) {
+            // 다른 행이 이미 쓰고 있는 값으로 변경한 경우 (barcode_value_hash UNIQUE)
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error("Barcode already exists"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error updating barcode: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error updating barcode: " + e.getMessage()));
         }
     }
 
@@ -312,19 +668,14 @@ public class BarcodeController {
             @ApiResponse(responseCode = "200", description = "상태 변경 성공"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> updateBarcodeStatus(
+    public ResponseEntity<ApiResult<?>> updateBarcodeStatus(
             @Parameter(description = "바코드 ID", required = true) @PathVariable Long barcodeId, 
             @Parameter(description = "변경할 상태 (ACTIVE, INACTIVE)", required = true) @RequestParam String status) {
-        Map<String, Object> response = new HashMap<>();
         try {
             barcodeService.updateBarcodeStatus(barcodeId, status);
-            response.put("success", true);
-            response.put("message", "Barcode status updated successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResult.ok("Barcode status updated successfully"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error updating barcode status: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error updating barcode status: " + e.getMessage()));
         }
     }
 
@@ -335,25 +686,18 @@ public class BarcodeController {
             @ApiResponse(responseCode = "404", description = "바코드를 찾을 수 없음"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> deleteBarcodeById(
+    public ResponseEntity<ApiResult<?>> deleteBarcodeById(
             @Parameter(description = "바코드 ID", required = true) @PathVariable Long barcodeId) {
-        Map<String, Object> response = new HashMap<>();
         try {
             BarcodeDto existingBarcode = barcodeService.getBarcodeById(barcodeId);
             if (existingBarcode == null) {
-                response.put("success", false);
-                response.put("message", "Barcode not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error("Barcode not found"));
             }
             
             barcodeService.deleteBarcodeById(barcodeId);
-            response.put("success", true);
-            response.put("message", "Barcode deleted successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResult.ok("Barcode deleted successfully"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error deleting barcode: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error deleting barcode: " + e.getMessage()));
         }
     }
 
@@ -364,25 +708,18 @@ public class BarcodeController {
             @ApiResponse(responseCode = "404", description = "바코드를 찾을 수 없음"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> deleteBarcodeByValue(
+    public ResponseEntity<ApiResult<?>> deleteBarcodeByValue(
             @Parameter(description = "바코드 값", required = true) @PathVariable String barcodeValue) {
-        Map<String, Object> response = new HashMap<>();
         try {
             BarcodeDto existingBarcode = barcodeService.getBarcodeByValue(barcodeValue);
             if (existingBarcode == null) {
-                response.put("success", false);
-                response.put("message", "Barcode not found");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResult.error("Barcode not found"));
             }
             
             barcodeService.deleteBarcodeByValue(barcodeValue);
-            response.put("success", true);
-            response.put("message", "Barcode deleted successfully");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResult.ok("Barcode deleted successfully"));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error deleting barcode: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error deleting barcode: " + e.getMessage()));
         }
     }
 
@@ -392,17 +729,80 @@ public class BarcodeController {
             @ApiResponse(responseCode = "200", description = "통계 조회 성공"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> getBarcodesStats() {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<CountResult> getBarcodesStats() {
         try {
-            int totalCount = barcodeService.getTotalBarcodesCount();
-            response.put("success", true);
-            response.put("totalCount", totalCount);
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(CountResult.of(barcodeService.getTotalBarcodesCount()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(CountResult.error("Error retrieving barcode stats: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/stats/summary")
+    @Operation(summary = "바코드 통계 요약", description = "전체/타입별/상태별/휴대폰 모델별/일자별 건수를 사전 집계 테이블에서 조회합니다 (전체 스캔 없음)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "통계 조회 성공"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> getBarcodesSummary() {
+        try {
+            return ResponseEntity.ok(ApiResult.of(barcodeStatsService.getSummary()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error retrieving barcode summary: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/admin/stats/reconcile")
+    @Operation(summary = "통계 재집계", description = "barcodes 테이블을 스캔하여 사전 집계 통계를 백그라운드에서 다시 계산합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "재집계 시작"),
+            @ApiResponse(responseCode = "409", description = "이미 재집계 중이거나 비활성화됨")
+    })
+    public ResponseEntity<ApiResult<?>> reconcileStats() {
+        if (!barcodeStatsService.reconcileAsync()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error("Stats are disabled or already reconciling"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResult.ok("Stats reconcile started"));
+    }
+    
+    @PostMapping("/admin/archive/run")
+    @Operation(summary = "아카이브 실행", description = "오래된 INACTIVE 행을 월 단위 파티션 압축 테이블(barcodes_archive)로 백그라운드에서 옮깁니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "아카이브 시작"),
+            @ApiResponse(responseCode = "409", description = "이미 아카이브 중")
+    })
+    public ResponseEntity<ApiResult<?>> runArchive() {
+        if (!barcodeArchiveService.archiveAsync()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error("Archive is already running"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResult.ok("Archive started"));
+    }
+    
+    @GetMapping("/admin/archive/status")
+    @Operation(summary = "아카이브 상태", description = "마지막 아카이브 결과와 파티션별 행 수를 조회합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> getArchiveStatus() {
+        try {
+            return ResponseEntity.ok(ApiResult.of(barcodeArchiveService.getStatus()));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error retrieving barcode stats: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error retrieving archive status: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/admin/archive/partitions")
+    @Operation(summary = "아카이브 파티션 관리", description = "앞으로의 월 파티션을 추가하고 보관 기간이 지난 파티션을 삭제합니다 (매일 자동 실행)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "파티션 관리 성공"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> maintainArchivePartitions() {
+        try {
+            barcodeArchiveService.maintainPartitions();
+            return ResponseEntity.ok(ApiResult.ok("Archive partitions are up to date"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error maintaining archive partitions: " + e.getMessage()));
         }
     }
     
@@ -412,37 +812,173 @@ public class BarcodeController {
             @ApiResponse(responseCode = "200", description = "제약조건 제거 성공"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> removeUniqueConstraint() {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResult<?>> removeUniqueConstraint() {
         try {
             // UNIQUE 제약조건 제거
             jdbcTemplate.execute("ALTER TABLE barcodes DROP INDEX barcode_value");
             
-            response.put("success", true);
-            response.put("message", "UNIQUE constraint removed successfully. Duplicate barcode values are now allowed.");
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResult.ok("UNIQUE constraint removed successfully. Duplicate barcode values are now allowed."));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error removing unique constraint: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error removing unique constraint: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/admin/migrate-value-hash")
+    @Operation(summary = "바코드 값 해시 컬럼 마이그레이션", description = "barcode_value의 SHA-256 생성 컬럼과 UNIQUE 인덱스를 추가하고, 기존 VARCHAR(500) 인덱스를 제거합니다. removeDuplicates=true이면 같은 값의 행 중 가장 먼저 저장된 행만 남기고 정리합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "마이그레이션 성공"),
+            @ApiResponse(responseCode = "409", description = "중복 값이 있어 UNIQUE 인덱스를 만들 수 없음 (removeDuplicates=true로 정리)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> migrateValueHash(
+            @Parameter(description = "중복 값 정리 여부 (값마다 가장 먼저 저장된 행만 남김)") @RequestParam(defaultValue = "false") boolean removeDuplicates) {
+        try {
+            // 생성 컬럼 추가 (이미 있으면 무시)
+            try {
+                jdbcTemplate.execute("ALTER TABLE barcodes ADD COLUMN barcode_value_hash BINARY(32) " +
+                        "AS (UNHEX(SHA2(barcode_value, 256))) STORED AFTER barcode_value");
+            } catch (Exception e) {
+                if (!e.getMessage().contains("Duplicate column name")) {
+                    throw e;
+                }
+            }
+            
+            // 중복 값이 남아 있으면 UNIQUE 인덱스를 만들 수 없으므로 먼저 확인
+            Integer duplicateValues = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT barcode_value_hash FROM barcodes " +
+                "GROUP BY barcode_value_hash HAVING COUNT(*) > 1) d", Integer.class);
+            int removed = 0;
+            if (duplicateValues != null && duplicateValues > 0) {
+                if (!removeDuplicates) {
+                    // data: 중복된 값의 수
+                    return ResponseEntity.status(HttpStatus.CONFLICT)
+                            .body(new ApiResult<>(false, "Remove duplicate barcode values before migrating, "
+                                    + "or retry with removeDuplicates=true to keep only the oldest row per value", duplicateValues, null));
+                }
+                removed = barcodeService.removeDuplicateValues();
+                barcodeStatsService.reconcile();
+            }
+            
+            String[] indexQueries = {
+                "ALTER TABLE barcodes ADD UNIQUE INDEX uk_barcode_value_hash (barcode_value_hash)",
+                "ALTER TABLE barcodes DROP INDEX idx_barcode_value"
+            };
+            for (String query : indexQueries) {
+                try {
+                    jdbcTemplate.execute(query);
+                } catch (Exception e) {
+                    // 이미 적용된 단계는 무시
+                    if (!e.getMessage().contains("Duplicate key name") && !e.getMessage().contains("check that column/key exists")) {
+                        throw e;
+                    }
+                }
+            }
+            
+            barcodeValueHash.refresh();
+            // data: 정리한 중복 행 수
+            return ResponseEntity.ok(ApiResult.ok("barcode_value_hash column and unique index are in place", removed));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error migrating value hash: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/admin/create-search-indexes")
+    @Operation(summary = "검색 인덱스 생성", description = "휴대폰 모델/바코드 값 앞 64자 ngram FULLTEXT 인덱스와 바코드 값 접두어 인덱스를 생성합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "인덱스 생성 성공"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> createSearchIndexes() {
+        try {
+            // InnoDB는 FULLTEXT 인덱스를 한 번에 하나씩만 추가할 수 있으므로 나눠서 실행 (기존 인덱스가 있으면 무시)
+            String[] indexQueries = {
+                "ALTER TABLE barcodes ADD COLUMN barcode_value_head VARCHAR(64) " +
+                    "AS (LEFT(barcode_value, 64)) STORED",
+                "ALTER TABLE barcodes ADD FULLTEXT INDEX ft_phone_model (phone_model) WITH PARSER ngram",
+                "ALTER TABLE barcodes ADD FULLTEXT INDEX ft_barcode_value_head (barcode_value_head) WITH PARSER ngram",
+                "CREATE INDEX idx_barcode_value_prefix ON barcodes(barcode_value(32))"
+            };
+            
+            int successCount = 0;
+            
+            for (String query : indexQueries) {
+                try {
+                    jdbcTemplate.execute(query);
+                    successCount++;
+                } catch (Exception e) {
+                    if (!e.getMessage().contains("Duplicate column name") && !e.getMessage().contains("Duplicate key name")) {
+                        throw e;
+                    }
+                }
+            }
+            
+            // 이전 버전이 만든 barcode_value 전체 ngram 인덱스는 쓰기 비용만 늘리므로 제거합니다
+            try {
+                jdbcTemplate.execute("ALTER TABLE barcodes DROP INDEX ft_barcode_value");
+            } catch (Exception e) {
+                if (!e.getMessage().contains("check that column/key exists")) {
+                    throw e;
+                }
+            }
+            
+            return ResponseEntity.ok(ApiResult.ok("Search indexes are in place. Created " + successCount + " new indexes."));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error creating search indexes: " + e.getMessage()));
+        }
+    }
+    
+    @PostMapping("/admin/migrate-sync-columns")
+    @Operation(summary = "변경 동기화 컬럼 마이그레이션", description = "modified_date 생성 컬럼과 (modified_date, barcode_id) 인덱스, 삭제 기록 테이블을 추가합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "마이그레이션 성공"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    public ResponseEntity<ApiResult<?>> migrateSyncColumns() {
+        try {
+            String[] migrationQueries = {
+                "ALTER TABLE barcodes ADD COLUMN modified_date DATETIME " +
+                    "AS (COALESCE(updated_date, created_date)) STORED AFTER updated_date",
+                "CREATE INDEX idx_modified_date ON barcodes(modified_date, barcode_id)"
+            };
+            for (String query : migrationQueries) {
+                try {
+                    jdbcTemplate.execute(query);
+                } catch (Exception e) {
+                    // 이미 적용된 단계는 무시
+                    if (!e.getMessage().contains("Duplicate column name") && !e.getMessage().contains("Duplicate key name")) {
+                        throw e;
+                    }
+                }
+            }
+            barcodeSyncService.initialize();
+            
+            return ResponseEntity.ok(ApiResult.ok("modified_date column, index and tombstone table are in place"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error migrating sync columns: " + e.getMessage()));
         }
     }
     
     @PostMapping("/admin/optimize-indexes")
-    @Operation(summary = "데이터베이스 인덱스 최적화", description = "성능 향상을 위한 복합 인덱스를 생성합니다")
+    @Operation(summary = "데이터베이스 인덱스 최적화", description = "성능 향상을 위한 복합 인덱스를 생성하고, 그 앞부분과 겹치는 인덱스를 제거합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "인덱스 최적화 성공"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> optimizeIndexes() {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResult<?>> optimizeIndexes() {
         try {
             // 복합 인덱스 생성 (기존 인덱스가 있으면 무시)
             String[] indexQueries = {
                 "CREATE INDEX idx_status_type_created ON barcodes(status, barcode_type, created_date DESC)",
                 "CREATE INDEX idx_type_phone_model ON barcodes(barcode_type, phone_model)",
-                "CREATE INDEX idx_status_created ON barcodes(status, created_date DESC)",
-                "CREATE INDEX idx_phone_created ON barcodes(phone_model, created_date DESC)"
+                "CREATE INDEX idx_phone_created ON barcodes(phone_model, created_date DESC)",
+                // 목록 요약 조회(fields=summary)용 커버링 인덱스
+                "CREATE INDEX idx_type_created_status ON barcodes(barcode_type, created_date DESC, status)",
+                "CREATE INDEX idx_status_created_type ON barcodes(status, created_date DESC, barcode_type)",
+                "CREATE INDEX idx_created_summary ON barcodes(created_date, barcode_id, barcode_type, status)"
+            };
+            // 위 복합 인덱스의 앞부분과 겹쳐 쓰기 비용만 늘리는 인덱스 (없으면 무시)
+            String[] redundantIndexes = {
+                "idx_barcode_type", "idx_phone_model", "idx_status", "idx_created_date", "idx_status_created"
             };
             
             int successCount = 0;
@@ -459,43 +995,76 @@ public class BarcodeController {
                 }
             }
             
-            response.put("success", true);
-            response.put("message", "Database indexes optimized successfully. Created " + successCount + " new compound indexes for improved query performance.");
-            return ResponseEntity.ok(response);
+            int droppedCount = 0;
+            
+            for (String index : redundantIndexes) {
+                try {
+                    jdbcTemplate.execute("ALTER TABLE barcodes DROP INDEX " + index);
+                    droppedCount++;
+                } catch (Exception e) {
+                    if (!e.getMessage().contains("check that column/key exists")) {
+                        throw e;
+                    }
+                }
+            }
+            
+            return ResponseEntity.ok(ApiResult.ok("Database indexes optimized successfully. Created " + successCount + " new compound indexes and dropped " + droppedCount + " redundant indexes."));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Error optimizing indexes: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Error optimizing indexes: " + e.getMessage()));
         }
     }
     
     @GetMapping("/admin/health")
-    @Operation(summary = "시스템 상태 확인", description = "데이터베이스 연결 상태 및 성능 지표를 확인합니다")
+    @Operation(summary = "시스템 상태 확인", description = "데이터베이스 연결 상태와 캐시를 거치지 않은 DB 왕복 시간을 확인합니다. 엔드포인트/쿼리별 지연 분포는 /actuator/metrics 또는 /actuator/prometheus에서 확인합니다")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "상태 확인 성공"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> getSystemHealth() {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<SystemHealth> getSystemHealth() {
         try {
-            // 데이터베이스 연결 테스트
-            long startTime = System.currentTimeMillis();
-            int count = barcodeService.getTotalBarcodesCount();
-            long queryTime = System.currentTimeMillis() - startTime;
+            // 데이터베이스 연결 테스트 (캐시를 거치지 않는 왕복 시간 측정)
+            long startTime = System.nanoTime();
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            double queryTimeMs = (System.nanoTime() - startTime) / 1_000_000.0;
             
-            response.put("success", true);
-            response.put("database", "connected");
-            response.put("totalBarcodes", count);
-            response.put("queryTime", queryTime + "ms");
-            response.put("timestamp", System.currentTimeMillis());
+            int count = barcodeService.getTotalBarcodesCount();
             
-            return ResponseEntity.ok(response);
+            Map<String, Object> replicas = replicaRoutingDataSource != null ? replicaRoutingDataSource.getStatus() : null;
+            return ResponseEntity.ok(SystemHealth.connected(count, String.format("%.2fms", queryTimeMs), replicas));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("database", "error");
-            response.put("message", "Health check failed: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(SystemHealth.error("Health check failed: " + e.getMessage()));
+        }
+    }
+    
+    @GetMapping("/admin/ingest-queue")
+    @Operation(summary = "비동기 적재 큐 상태", description = "write-behind 큐 깊이와 처리 건수를 조회합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    public ResponseEntity<ApiResult<?>> getIngestQueueStats() {
+        return ResponseEntity.ok(ApiResult.of(writeBehindIngestService.getStats()));
+    }
+    
+    @GetMapping("/admin/existence-index")
+    @Operation(summary = "존재 여부 인덱스 상태", description = "Bloom filter 크기, 추정/실측 오탐률, 재구축 권장 여부를 조회합니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "조회 성공")
+    })
+    public ResponseEntity<ApiResult<?>> getExistenceIndexStats() {
+        return ResponseEntity.ok(ApiResult.of(barcodeExistenceIndex.getStats()));
+    }
+    
+    @PostMapping("/admin/existence-index/rebuild")
+    @Operation(summary = "존재 여부 인덱스 재구축", description = "테이블을 스트리밍하여 Bloom filter를 백그라운드에서 다시 만듭니다")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "재구축 시작"),
+            @ApiResponse(responseCode = "409", description = "이미 재구축 중이거나 비활성화됨")
+    })
+    public ResponseEntity<ApiResult<?>> rebuildExistenceIndex() {
+        if (!barcodeExistenceIndex.rebuildAsync()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(ApiResult.error("Existence index is disabled or already rebuilding"));
         }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResult.ok("Existence index rebuild started"));
     }
     
     @PostMapping("/admin/optimize-database")
@@ -504,8 +1073,7 @@ public class BarcodeController {
             @ApiResponse(responseCode = "200", description = "최적화 성공"),
             @ApiResponse(responseCode = "500", description = "서버 오류")
     })
-    public ResponseEntity<Map<String, Object>> optimizeDatabase() {
-        Map<String, Object> response = new HashMap<>();
+    public ResponseEntity<ApiResult<?>> optimizeDatabase() {
         try {
             // 테이블 최적화
             jdbcTemplate.execute("OPTIMIZE TABLE barcodes");
@@ -529,16 +1097,10 @@ public class BarcodeController {
                 "WHERE table_schema = DATABASE() AND table_name = 'barcodes'"
             );
             
-            response.put("success", true);
-            response.put("message", "Database optimization completed successfully");
-            response.put("stats", stats);
-            response.put("indexes", indexes);
-            
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok(ApiResult.ok("Database optimization completed successfully",
+                    Map.of("stats", stats, "indexes", indexes)));
         } catch (Exception e) {
-            response.put("success", false);
-            response.put("message", "Database optimization failed: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(ApiResult.error("Database optimization failed: " + e.getMessage()));
         }
     }
 }
\ No newline at end of file
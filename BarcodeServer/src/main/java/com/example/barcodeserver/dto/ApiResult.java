@@ -0,0 +1,32 @@
+package com.example.barcodeserver.dto;
+
+/**
+ * 공통 응답 봉투. 요청마다 HashMap을 만들지 않고 불변 레코드 하나로 응답하며,
+ * null 필드는 spring.jackson.default-property-inclusion=NON_NULL 설정으로 생략되어 기존 JSON 형태와 같습니다.
+ */
+public record ApiResult<T>(boolean success, String message, T data, Integer count) {
+
+    public static <T> ApiResult<T> of(T data) {
+        return new ApiResult<>(true, null, data, null);
+    }
+
+    public static <T> ApiResult<T> of(T data, int count) {
+        return new ApiResult<>(true, null, data, count);
+    }
+
+    public static <T> ApiResult<T> ok(String message) {
+        return new ApiResult<>(true, message, null, null);
+    }
+
+    public static <T> ApiResult<T> ok(String message, T data) {
+        return new ApiResult<>(true, message, data, null);
+    }
+
+    public static <T> ApiResult<T> ok(String message, T data, int count) {
+        return new ApiResult<>(true, message, data, count);
+    }
+
+    public static <T> ApiResult<T> error(String message) {
+        return new ApiResult<>(false, message, null, null);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.barcodeserver.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 다중 바코드 생성용 열 단위(columnar) 요청.
+ * 바코드마다 반복되는 타입/휴대폰 모델/상태는 사전(barcodeTypes 등)에 한 번만 담고 각 행은 사전 인덱스로 가리킵니다.
+ * 사전 값이 하나뿐이면 인덱스 배열을 생략할 수 있으며, phoneModelIndexes의 -1은 모델 없음(null)입니다.
+ *
+ * <pre>
+ * {"barcodeValues": ["880...1", "880...2"], "barcodeTypes": ["EAN13"], "phoneModels": ["Galaxy S24"]}
+ * </pre>
+ */
+public class BarcodeBatchColumns {
+
+    @NotEmpty(message = "바코드 값 목록은 필수입니다")
+    private List<String> barcodeValues;
+
+    @NotEmpty(message = "바코드 타입 목록은 필수입니다")
+    private List<String> barcodeTypes;
+
+    private int[] typeIndexes;
+
+    private List<String> phoneModels;
+
+    private int[] phoneModelIndexes;
+
+    private List<String> statuses;
+
+    private int[] statusIndexes;
+
+    public BarcodeBatchColumns() {}
+
+    /**
+     * 행 단위 BarcodeDto 목록으로 펼칩니다. 배열 길이나 인덱스가 맞지 않으면 IllegalArgumentException을 던집니다.
+     */
+    public List<BarcodeDto> toBarcodes() {
+        if (barcodeValues == null || barcodeValues.isEmpty() || barcodeTypes == null || barcodeTypes.isEmpty()) {
+            throw new IllegalArgumentException("barcodeValues and barcodeTypes are required");
+        }
+        int size = barcodeValues.size();
+        List<BarcodeDto> barcodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BarcodeDto barcode = new BarcodeDto();
+            barcode.setBarcodeValue(barcodeValues.get(i));
+            barcode.setBarcodeType(lookup("barcodeTypes", barcodeTypes, typeIndexes, i, size));
+            barcode.setPhoneModel(lookup("phoneModels", phoneModels, phoneModelIndexes, i, size));
+            barcode.setStatus(lookup("statuses", statuses, statusIndexes, i, size));
+            barcodes.add(barcode);
+        }
+        return barcodes;
+    }
+
+    private static String lookup(String name, List<String> dictionary, int[] indexes, int row, int size) {
+        if (dictionary == null || dictionary.isEmpty()) {
+            return null;
+        }
+        if (indexes == null) {
+            if (dictionary.size() != 1) {
+                throw new IllegalArgumentException(name + " has several entries, so its index array is required");
+            }
+            return dictionary.get(0);
+        }
+        if (indexes.length != size) {
+            throw new IllegalArgumentException(name + " index array length must match barcodeValues (" + size + ")");
+        }
+        int index = indexes[row];
+        if (index == -1) {
+            return null;
+        }
+        if (index < 0 || index >= dictionary.size()) {
+            throw new IllegalArgumentException(name + " index out of range at row " + row + ": " + index);
+        }
+        return dictionary.get(index);
+    }
+
+    public List<String> getBarcodeValues() { return barcodeValues; }
+    public void setBarcodeValues(List<String> barcodeValues) { this.barcodeValues = barcodeValues; }
+
+    public List<String> getBarcodeTypes() { return barcodeTypes; }
+    public void setBarcodeTypes(List<String> barcodeTypes) { this.barcodeTypes = barcodeTypes; }
+
+    public int[] getTypeIndexes() { return typeIndexes; }
+    public void setTypeIndexes(int[] typeIndexes) { this.typeIndexes = typeIndexes; }
+
+    public List<String> getPhoneModels() { return phoneModels; }
+    public void setPhoneModels(List<String> phoneModels) { this.phoneModels = phoneModels; }
+
+    public int[] getPhoneModelIndexes() { return phoneModelIndexes; }
+    public void setPhoneModelIndexes(int[] phoneModelIndexes) { this.phoneModelIndexes = phoneModelIndexes; }
+
+    public List<String> getStatuses() { return statuses; }
+    public void setStatuses(List<String> statuses) { this.statuses = statuses; }
+
+    public int[] getStatusIndexes() { return statusIndexes; }
+    public void setStatusIndexes(int[] statusIndexes) { this.statusIndexes = statusIndexes; }
+}
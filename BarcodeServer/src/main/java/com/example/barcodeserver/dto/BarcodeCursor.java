@@ -0,0 +1,56 @@
+package com.example.barcodeserver.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이징용 연속 토큰.
+ * (created_date, barcode_id) 쌍을 Base64 URL-safe 문자열로 인코딩하여 클라이언트에는 불투명한 값으로 전달합니다.
+ * created_date가 없는 행(NULL, 최신순 정렬에서 맨 뒤)은 날짜 부분을 비운 id 전용 커서가 됩니다.
+ */
+public class BarcodeCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdDate;
+    private final Long barcodeId;
+
+    public BarcodeCursor(LocalDateTime createdDate, Long barcodeId) {
+        this.createdDate = createdDate;
+        this.barcodeId = barcodeId;
+    }
+
+    public static BarcodeCursor of(BarcodeDto barcode) {
+        return new BarcodeCursor(barcode.getCreatedDate(), barcode.getBarcodeId());
+    }
+
+    /**
+     * 커서 토큰을 해석합니다. 잘못된 토큰이면 IllegalArgumentException을 던집니다.
+     */
+    public static BarcodeCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + token);
+            }
+            String date = raw.substring(0, idx);
+            return new BarcodeCursor(
+                    date.isEmpty() ? null : LocalDateTime.parse(date),
+                    Long.parseLong(raw.substring(idx + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = (createdDate != null ? createdDate.toString() : "") + SEPARATOR + barcodeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedDate() { return createdDate; }
+
+    public Long getBarcodeId() { return barcodeId; }
+}
@@ -24,6 +24,9 @@ public class BarcodeDto {
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
 
+    // 아카이브 테이블에서 조회한 경우에만 true (그 외에는 null로 응답에서 생략)
+    private Boolean archived;
+
     public BarcodeDto() {}
 
     public BarcodeDto(String barcodeValue, String barcodeType) {
@@ -53,4 +56,7 @@ public class BarcodeDto {
 
     public LocalDateTime getUpdatedDate() { return updatedDate; }
     public void setUpdatedDate(LocalDateTime updatedDate) { this.updatedDate = updatedDate; }
+
+    public Boolean getArchived() { return archived; }
+    public void setArchived(Boolean archived) { this.archived = archived; }
 }
\ No newline at end of file
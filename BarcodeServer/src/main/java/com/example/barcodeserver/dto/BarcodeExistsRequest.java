@@ -0,0 +1,19 @@
+package com.example.barcodeserver.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import java.util.List;
+
+public class BarcodeExistsRequest {
+
+    @NotEmpty(message = "확인할 바코드 값 목록은 필수입니다")
+    private List<String> barcodeValues;
+
+    public BarcodeExistsRequest() {}
+
+    public BarcodeExistsRequest(List<String> barcodeValues) {
+        this.barcodeValues = barcodeValues;
+    }
+
+    public List<String> getBarcodeValues() { return barcodeValues; }
+    public void setBarcodeValues(List<String> barcodeValues) { this.barcodeValues = barcodeValues; }
+}
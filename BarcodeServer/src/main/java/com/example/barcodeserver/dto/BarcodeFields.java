@@ -0,0 +1,94 @@
+package com.example.barcodeserver.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 목록 조회의 fields= 선택자. 응답에 담을 BarcodeDto 필드(=조회할 열)를 정합니다.
+ * 생략하거나 full이면 모든 열, summary면 barcodeId/barcodeType/status/createdDate만 조회하며,
+ * 쉼표로 구분한 필드명(예: barcodeId,status)도 지정할 수 있습니다. barcodeId는 항상 포함됩니다.
+ * summary 열은 복합 인덱스에 모두 들어 있어 테이블 행을 읽지 않는 인덱스 전용 조회가 가능합니다.
+ *
+ * @param columns SELECT할 열 목록. null이면 전체 열입니다.
+ */
+public record BarcodeFields(List<String> columns) {
+
+    // 필드명 → 열 이름
+    private static final Map<String, String> COLUMNS = Map.of(
+            "barcodeId", "barcode_id",
+            "barcodeValue", "barcode_value",
+            "barcodeType", "barcode_type",
+            "phoneModel", "phone_model",
+            "status", "status",
+            "createdDate", "created_date",
+            "updatedDate", "updated_date");
+
+    // SELECT 순서
+    private static final List<String> COLUMN_ORDER = List.of(
+            "barcode_id", "barcode_value", "barcode_type", "phone_model", "status", "created_date", "updated_date");
+
+    public static final BarcodeFields FULL = new BarcodeFields(null);
+    public static final BarcodeFields SUMMARY = new BarcodeFields(List.of("barcode_id", "barcode_type", "status", "created_date"));
+
+    /**
+     * 열 이름은 매퍼 SQL에 그대로 들어가므로(${column}) 허용된 열만 받습니다. 알 수 없는 열이면 IllegalArgumentException을 던집니다.
+     */
+    public BarcodeFields {
+        if (columns != null) {
+            for (String column : columns) {
+                if (!COLUMN_ORDER.contains(column)) {
+                    throw new IllegalArgumentException("Unknown column: " + column);
+                }
+            }
+            columns = List.copyOf(columns);
+        }
+    }
+
+    /**
+     * fields 파라미터를 해석합니다. 알 수 없는 필드명이면 IllegalArgumentException을 던집니다.
+     */
+    public static BarcodeFields parse(String fields) {
+        if (fields == null || fields.isBlank() || fields.trim().equalsIgnoreCase("full")) {
+            return FULL;
+        }
+        if (fields.trim().equalsIgnoreCase("summary")) {
+            return SUMMARY;
+        }
+        List<String> requested = new ArrayList<>();
+        requested.add("barcode_id");
+        for (String field : fields.split(",")) {
+            String column = COLUMNS.get(field.trim());
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown field: " + field.trim()
+                        + " (summary, full or barcodeId, barcodeValue, barcodeType, phoneModel, status, createdDate, updatedDate)");
+            }
+            if (!requested.contains(column)) {
+                requested.add(column);
+            }
+        }
+        if (requested.size() == COLUMN_ORDER.size()) {
+            return FULL;
+        }
+        requested.sort((a, b) -> COLUMN_ORDER.indexOf(a) - COLUMN_ORDER.indexOf(b));
+        return new BarcodeFields(List.copyOf(requested));
+    }
+
+    /**
+     * 커서 페이징처럼 다음 위치 계산에 created_date가 필요한 경우 포함시킨 선택자를 반환합니다.
+     */
+    public BarcodeFields withCreatedDate() {
+        if (columns == null || columns.contains("created_date")) {
+            return this;
+        }
+        List<String> withCreatedDate = new ArrayList<>(columns);
+        withCreatedDate.add("created_date");
+        withCreatedDate.sort((a, b) -> COLUMN_ORDER.indexOf(a) - COLUMN_ORDER.indexOf(b));
+        return new BarcodeFields(List.copyOf(withCreatedDate));
+    }
+
+    /** 캐시 키 등에 쓰는 짧은 식별자 */
+    public String key() {
+        return columns == null ? "full" : String.join(",", columns);
+    }
+}
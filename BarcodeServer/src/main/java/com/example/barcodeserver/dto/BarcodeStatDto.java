@@ -0,0 +1,33 @@
+package com.example.barcodeserver.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * barcode_stats 테이블의 한 행. dimension별(TOTAL, TYPE, STATUS, PHONE_MODEL, DAY) 키의 바코드 수입니다.
+ */
+public class BarcodeStatDto {
+    private String dimension;
+    private String statKey;
+    private long barcodeCount;
+    private LocalDateTime updatedDate;
+
+    public BarcodeStatDto() {}
+
+    public BarcodeStatDto(String dimension, String statKey, long barcodeCount) {
+        this.dimension = dimension;
+        this.statKey = statKey;
+        this.barcodeCount = barcodeCount;
+    }
+
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+
+    public String getStatKey() { return statKey; }
+    public void setStatKey(String statKey) { this.statKey = statKey; }
+
+    public long getBarcodeCount() { return barcodeCount; }
+    public void setBarcodeCount(long barcodeCount) { this.barcodeCount = barcodeCount; }
+
+    public LocalDateTime getUpdatedDate() { return updatedDate; }
+    public void setUpdatedDate(LocalDateTime updatedDate) { this.updatedDate = updatedDate; }
+}
@@ -0,0 +1,27 @@
+package com.example.barcodeserver.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 변경 동기화 결과. 토큰 이후 생성/수정된 행(upserts)과 삭제된 행(deletes), 다음 요청에 쓸 토큰을 담습니다.
+ * hasMore가 true면 nextToken으로 바로 다시 요청하여 나머지를 받습니다.
+ */
+public class BarcodeSyncResult {
+    private List<BarcodeDto> upserts = new ArrayList<>();
+    private List<BarcodeTombstone> deletes = new ArrayList<>();
+    private String nextToken;
+    private boolean hasMore;
+
+    public List<BarcodeDto> getUpserts() { return upserts; }
+    public void setUpserts(List<BarcodeDto> upserts) { this.upserts = upserts; }
+
+    public List<BarcodeTombstone> getDeletes() { return deletes; }
+    public void setDeletes(List<BarcodeTombstone> deletes) { this.deletes = deletes; }
+
+    public String getNextToken() { return nextToken; }
+    public void setNextToken(String nextToken) { this.nextToken = nextToken; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,27 @@
+package com.example.barcodeserver.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 삭제된 바코드 기록. 동기화 클라이언트가 로컬 사본에서 같은 행을 지우는 데 사용합니다.
+ */
+public class BarcodeTombstone {
+    private Long tombstoneId;
+    private Long barcodeId;
+    private String barcodeValue;
+    private LocalDateTime deletedDate;
+
+    public BarcodeTombstone() {}
+
+    public Long getTombstoneId() { return tombstoneId; }
+    public void setTombstoneId(Long tombstoneId) { this.tombstoneId = tombstoneId; }
+
+    public Long getBarcodeId() { return barcodeId; }
+    public void setBarcodeId(Long barcodeId) { this.barcodeId = barcodeId; }
+
+    public String getBarcodeValue() { return barcodeValue; }
+    public void setBarcodeValue(String barcodeValue) { this.barcodeValue = barcodeValue; }
+
+    public LocalDateTime getDeletedDate() { return deletedDate; }
+    public void setDeletedDate(LocalDateTime deletedDate) { this.deletedDate = deletedDate; }
+}
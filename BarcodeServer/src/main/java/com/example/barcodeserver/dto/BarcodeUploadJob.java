@@ -0,0 +1,90 @@
+package com.example.barcodeserver.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 비동기 대량 업로드 작업 상태 (GET /api/barcodes/jobs/{jobId}).
+ * 작업 스레드가 청크마다 갱신하고 요청 스레드가 읽으므로 필드는 volatile이며, 오류 목록은 복사본을 보관합니다.
+ */
+public class BarcodeUploadJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String jobId;
+    private final String mode;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile long payloadBytes;
+    private volatile State state = State.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile long processedRows;
+    private volatile long insertedRows;
+    private volatile long failedRows;
+    private volatile int chunks;
+    private volatile long elapsedMs;
+    private volatile long rowsPerSecond;
+    private volatile String message;
+    private volatile List<BulkIngestResult.RowError> rowErrors = List.of();
+
+    public BarcodeUploadJob(String jobId, String mode) {
+        this.jobId = jobId;
+        this.mode = mode;
+    }
+
+    public void start() {
+        this.startedAt = LocalDateTime.now();
+        this.state = State.RUNNING;
+    }
+
+    /**
+     * 적재 중간 결과 반영 (BulkIngestService의 progress 콜백)
+     */
+    public void update(BulkIngestResult result) {
+        this.processedRows = result.getTotalRows();
+        this.insertedRows = result.getInsertedRows();
+        this.failedRows = result.getFailedRows();
+        this.chunks = result.getChunks().size();
+        this.elapsedMs = result.getElapsedMs();
+        this.rowsPerSecond = result.getRowsPerSecond();
+        this.rowErrors = List.copyOf(result.getRowErrors());
+    }
+
+    /**
+     * 형식 오류로 중간에 멈춘 적재는 FAILED로 끝나며, 그 전까지 저장된 행 수는 insertedRows에 남습니다.
+     */
+    public void finish(BulkIngestResult result) {
+        update(result);
+        this.message = result.getMessage();
+        this.finishedAt = LocalDateTime.now();
+        this.state = result.isCompleted() ? State.COMPLETED : State.FAILED;
+    }
+
+    public void fail(String message) {
+        this.message = message;
+        this.finishedAt = LocalDateTime.now();
+        this.state = State.FAILED;
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    public String getJobId() { return jobId; }
+    public String getMode() { return mode; }
+    public long getPayloadBytes() { return payloadBytes; }
+    public void setPayloadBytes(long payloadBytes) { this.payloadBytes = payloadBytes; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public State getState() { return state; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public long getProcessedRows() { return processedRows; }
+    public long getInsertedRows() { return insertedRows; }
+    public long getFailedRows() { return failedRows; }
+    public int getChunks() { return chunks; }
+    public long getElapsedMs() { return elapsedMs; }
+    public long getRowsPerSecond() { return rowsPerSecond; }
+    public String getMessage() { return message; }
+    public List<BulkIngestResult.RowError> getRowErrors() { return rowErrors; }
+}
@@ -0,0 +1,110 @@
+package com.example.barcodeserver.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 대량 적재 결과. 청크별 처리 결과와 (개수 제한된) 행 단위 오류를 담습니다.
+ */
+public class BulkIngestResult {
+    private long totalRows;
+    private long insertedRows;
+    private long failedRows;
+    private boolean completed = true;
+    private String message;
+    private long elapsedMs;
+    private List<ChunkResult> chunks = new ArrayList<>();
+    private List<RowError> rowErrors = new ArrayList<>();
+
+    public long getRowsPerSecond() {
+        return elapsedMs > 0 ? insertedRows * 1000 / elapsedMs : insertedRows;
+    }
+
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+
+    public long getInsertedRows() { return insertedRows; }
+    public void setInsertedRows(long insertedRows) { this.insertedRows = insertedRows; }
+
+    public long getFailedRows() { return failedRows; }
+    public void setFailedRows(long failedRows) { this.failedRows = failedRows; }
+
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+
+    public List<ChunkResult> getChunks() { return chunks; }
+    public void setChunks(List<ChunkResult> chunks) { this.chunks = chunks; }
+
+    public List<RowError> getRowErrors() { return rowErrors; }
+    public void setRowErrors(List<RowError> rowErrors) { this.rowErrors = rowErrors; }
+
+    /**
+     * 하나의 청크(하나의 트랜잭션) 처리 결과
+     */
+    public static class ChunkResult {
+        private int chunkIndex;
+        private long firstRow;
+        private int rows;
+        private int inserted;
+        private long elapsedMs;
+        private String error;
+
+        public ChunkResult() {}
+
+        public ChunkResult(int chunkIndex, long firstRow, int rows) {
+            this.chunkIndex = chunkIndex;
+            this.firstRow = firstRow;
+            this.rows = rows;
+        }
+
+        public int getChunkIndex() { return chunkIndex; }
+        public void setChunkIndex(int chunkIndex) { this.chunkIndex = chunkIndex; }
+
+        public long getFirstRow() { return firstRow; }
+        public void setFirstRow(long firstRow) { this.firstRow = firstRow; }
+
+        public int getRows() { return rows; }
+        public void setRows(int rows) { this.rows = rows; }
+
+        public int getInserted() { return inserted; }
+        public void setInserted(int inserted) { this.inserted = inserted; }
+
+        public long getElapsedMs() { return elapsedMs; }
+        public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+
+    /**
+     * 입력 순서 기준(0부터) 행 번호와 실패 사유
+     */
+    public static class RowError {
+        private long row;
+        private String barcodeValue;
+        private String reason;
+
+        public RowError() {}
+
+        public RowError(long row, String barcodeValue, String reason) {
+            this.row = row;
+            this.barcodeValue = barcodeValue;
+            this.reason = reason;
+        }
+
+        public long getRow() { return row; }
+        public void setRow(long row) { this.row = row; }
+
+        public String getBarcodeValue() { return barcodeValue; }
+        public void setBarcodeValue(String barcodeValue) { this.barcodeValue = barcodeValue; }
+
+        public String getReason() { return reason; }
+        public void setReason(String reason) { this.reason = reason; }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.barcodeserver.dto;
+
+/**
+ * 전체 개수 응답 (GET /stats/count). 클라이언트가 읽는 totalCount 필드명을 유지합니다.
+ */
+public record CountResult(boolean success, String message, Integer totalCount) {
+
+    public static CountResult of(int totalCount) {
+        return new CountResult(true, null, totalCount);
+    }
+
+    public static CountResult error(String message) {
+        return new CountResult(false, message, null);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.barcodeserver.dto;
+
+import java.util.List;
+
+/**
+ * 목록/검색 응답. 페이지 번호 페이징은 currentPage/totalPages/hasPrevious를,
+ * 커서 페이징은 nextCursor를 채우며 사용하지 않는 필드는 null로 두어 JSON에서 생략됩니다.
+ */
+public record PageResult<T>(boolean success, String message, List<T> data, Integer count, Pagination pagination) {
+
+    public static <T> PageResult<T> of(List<T> data, Pagination pagination) {
+        return new PageResult<>(true, null, data, null, pagination);
+    }
+
+    public static <T> PageResult<T> of(List<T> data, int count, Pagination pagination) {
+        return new PageResult<>(true, null, data, count, pagination);
+    }
+
+    public static <T> PageResult<T> error(String message) {
+        return new PageResult<>(false, message, null, null, null);
+    }
+
+    public record Pagination(Integer currentPage, int pageSize, Integer totalElements, Integer totalPages,
+                             boolean hasNext, Boolean hasPrevious, String nextCursor) {
+
+        public static Pagination ofPage(int page, int size, int totalElements) {
+            int totalPages = (int) Math.ceil((double) totalElements / size);
+            return new Pagination(page, size, totalElements, totalPages, page < totalPages - 1, page > 0, null);
+        }
+
+        public static Pagination ofPage(int page, int size, boolean hasNext) {
+            return new Pagination(page, size, null, null, hasNext, page > 0, null);
+        }
+
+        public static Pagination ofCursor(int size, String nextCursor, Integer totalElements) {
+            return new Pagination(null, size, totalElements, null, nextCursor != null, null, nextCursor);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.barcodeserver.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 변경 동기화(/sync) 연속 토큰.
+ * 변경 행 위치 (modified_date, barcode_id)와 삭제 기록 위치 (deleted_date, tombstone_id)를
+ * Base64 URL-safe 문자열로 인코딩하여 클라이언트에는 불투명한 값으로 전달합니다.
+ */
+public class SyncToken {
+
+    private static final String VERSION = "s1";
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime modifiedDate;
+    private final long barcodeId;
+    private final LocalDateTime deletedDate;
+    private final long tombstoneId;
+
+    public SyncToken(LocalDateTime modifiedDate, long barcodeId, LocalDateTime deletedDate, long tombstoneId) {
+        this.modifiedDate = modifiedDate;
+        this.barcodeId = barcodeId;
+        this.deletedDate = deletedDate;
+        this.tombstoneId = tombstoneId;
+    }
+
+    /**
+     * 동기화 토큰을 해석합니다. 잘못된 토큰이면 IllegalArgumentException을 던집니다.
+     */
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 5 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid sync token: " + token);
+            }
+            return new SyncToken(
+                    LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]),
+                    LocalDateTime.parse(parts[3]), Long.parseLong(parts[4]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sync token: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, VERSION,
+                modifiedDate.toString(), String.valueOf(barcodeId),
+                deletedDate.toString(), String.valueOf(tombstoneId));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getModifiedDate() { return modifiedDate; }
+
+    public long getBarcodeId() { return barcodeId; }
+
+    public LocalDateTime getDeletedDate() { return deletedDate; }
+
+    public long getTombstoneId() { return tombstoneId; }
+}
@@ -0,0 +1,18 @@
+package com.example.barcodeserver.dto;
+
+import java.util.Map;
+
+/**
+ * 시스템 상태 응답 (GET /admin/health).
+ */
+public record SystemHealth(boolean success, String message, String database, Integer totalBarcodes,
+                           String queryTime, Map<String, Object> replicas, Long timestamp) {
+
+    public static SystemHealth connected(int totalBarcodes, String queryTime, Map<String, Object> replicas) {
+        return new SystemHealth(true, null, "connected", totalBarcodes, queryTime, replicas, System.currentTimeMillis());
+    }
+
+    public static SystemHealth error(String message) {
+        return new SystemHealth(false, message, "error", null, null, null, null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.barcodeserver.exception;
+
+import java.io.IOException;
+
+/**
+ * 압축을 푼 요청 본문이 허용 크기를 넘었을 때 본문 스트림에서 던지는 예외 (413 응답).
+ */
+public class PayloadTooLargeException extends IOException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
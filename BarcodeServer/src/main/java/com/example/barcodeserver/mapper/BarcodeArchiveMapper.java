@@ -0,0 +1,40 @@
+package com.example.barcodeserver.mapper;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Mapper
+public interface BarcodeArchiveMapper {
+    
+    void createArchiveTableIfNotExists();
+    
+    List<String> selectArchivePartitionNames();
+    
+    List<Map<String, Object>> selectArchivePartitionStats();
+    
+    void addArchivePartitions(@Param("partitions") List<Map<String, String>> partitions);
+    
+    void dropArchivePartitions(@Param("names") List<String> names);
+    
+    LocalDateTime selectOldestBarcodeCreatedDate();
+    
+    List<BarcodeDto> selectArchiveCandidates(@Param("afterId") long afterId,
+                                             @Param("inactiveBefore") LocalDateTime inactiveBefore,
+                                             @Param("createdBefore") LocalDateTime createdBefore,
+                                             @Param("limit") int limit);
+    
+    int copyBarcodesToArchive(@Param("barcodeIds") Collection<Long> barcodeIds,
+                              @Param("archivedDate") LocalDateTime archivedDate);
+    
+    BarcodeDto selectArchivedBarcodeById(@Param("barcodeId") Long barcodeId);
+    
+    BarcodeDto selectArchivedBarcodeByValue(@Param("barcodeValue") String barcodeValue);
+    
+    long countArchivedBarcodes();
+}
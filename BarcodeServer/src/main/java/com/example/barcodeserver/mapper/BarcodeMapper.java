@@ -3,7 +3,10 @@ package com.example.barcodeserver.mapper;
 import com.example.barcodeserver.dto.BarcodeDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -13,19 +16,44 @@ public interface BarcodeMapper {
     
     void insertBarcodes(@Param("barcodes") List<BarcodeDto> barcodes);
     
+    void insertBarcodeForBatch(BarcodeDto barcodeDto);
+    
+    int upsertBarcodes(@Param("barcodes") List<BarcodeDto> barcodes);
+    
     BarcodeDto selectBarcodeById(@Param("barcodeId") Long barcodeId);
     
     BarcodeDto selectBarcodeByValue(@Param("barcodeValue") String barcodeValue);
     
+    // 수정/삭제 전 행을 잠그고 읽음 (동시 요청이 같은 행의 통계 증감분을 두 번 반영하지 않도록)
+    BarcodeDto selectBarcodeByIdForUpdate(@Param("barcodeId") Long barcodeId);
+    
+    BarcodeDto selectBarcodeByValueForUpdate(@Param("barcodeValue") String barcodeValue);
+    
+    List<String> selectExistingBarcodeValues(@Param("barcodeValues") Collection<String> barcodeValues);
+    
     List<BarcodeDto> selectAllBarcodes();
     
-    List<BarcodeDto> selectBarcodesByType(@Param("barcodeType") String barcodeType);
+    /**
+     * columns는 BarcodeFields.columns()처럼 검증된 열 이름 목록이어야 하며, null이면 전체 열을 조회합니다.
+     */
+    List<BarcodeDto> selectBarcodesByType(@Param("barcodeType") String barcodeType,
+                                          @Param("columns") List<String> columns);
     
-    List<BarcodeDto> selectBarcodesByCategory(@Param("category") String category);
+    List<BarcodeDto> selectBarcodesByCategory(@Param("category") String category,
+                                              @Param("columns") List<String> columns);
     
     List<BarcodeDto> selectBarcodesByStatus(@Param("status") String status);
     
-    List<BarcodeDto> selectBarcodesByProductName(@Param("productName") String productName);
+    List<BarcodeDto> searchBarcodes(@Param("query") String query,
+                                    @Param("searchPhoneModel") boolean searchPhoneModel,
+                                    @Param("searchBarcodeValue") boolean searchBarcodeValue,
+                                    @Param("offset") int offset,
+                                    @Param("limit") int limit,
+                                    @Param("candidateLimit") int candidateLimit);
+    
+    List<BarcodeDto> searchBarcodesByValuePrefix(@Param("prefix") String prefix,
+                                                 @Param("offset") int offset,
+                                                 @Param("limit") int limit);
     
     void updateBarcode(BarcodeDto barcodeDto);
     
@@ -35,9 +63,40 @@ public interface BarcodeMapper {
     
     void deleteBarcodeByValue(@Param("barcodeValue") String barcodeValue);
     
+    int deleteBarcodesByIds(@Param("barcodeIds") Collection<Long> barcodeIds);
+    
+    /**
+     * 같은 값(barcode_value_hash)의 행이 여러 개일 때 가장 먼저 저장된 행을 뺀 나머지 ID
+     */
+    List<Long> selectDuplicateValueIds();
+    
     int countTotalBarcodes();
     
     int countBarcodesByType(@Param("barcodeType") String barcodeType);
     
-    List<BarcodeDto> selectBarcodesPaginated(@Param("offset") int offset, @Param("limit") int limit);
+    List<BarcodeDto> selectBarcodesPaginated(@Param("offset") int offset, @Param("limit") int limit,
+                                             @Param("columns") List<String> columns);
+    
+    List<BarcodeDto> selectBarcodesAfterCursor(@Param("createdDate") LocalDateTime createdDate,
+                                               @Param("barcodeId") Long barcodeId,
+                                               @Param("limit") int limit,
+                                               @Param("columns") List<String> columns);
+    
+    List<BarcodeDto> selectBarcodesModifiedAfter(@Param("modifiedDate") LocalDateTime modifiedDate,
+                                                 @Param("barcodeId") long barcodeId,
+                                                 @Param("horizon") LocalDateTime horizon,
+                                                 @Param("limit") int limit);
+    
+    Cursor<BarcodeDto> selectBarcodesForExport(@Param("barcodeType") String barcodeType,
+                                               @Param("status") String status,
+                                               @Param("productName") String productName);
+    
+    Cursor<String> selectAllBarcodeValues();
+    
+    Cursor<String> selectBarcodeValuesModifiedSince(@Param("since") LocalDateTime since);
+    
+    /**
+     * DB 시계의 현재 시각에서 secondsAgo초를 뺀 시각
+     */
+    LocalDateTime selectDatabaseTime(@Param("secondsAgo") long secondsAgo);
 }
\ No newline at end of file
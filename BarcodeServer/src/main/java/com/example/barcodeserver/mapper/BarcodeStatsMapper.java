@@ -0,0 +1,33 @@
+package com.example.barcodeserver.mapper;
+
+import com.example.barcodeserver.dto.BarcodeStatDto;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Mapper
+public interface BarcodeStatsMapper {
+    
+    void createStatsTableIfNotExists();
+    
+    List<BarcodeStatDto> selectStatsByDimension(@Param("dimension") String dimension);
+    
+    List<BarcodeStatDto> selectTopStatsByDimension(@Param("dimension") String dimension, @Param("limit") int limit);
+    
+    List<BarcodeStatDto> selectDailyStatsSince(@Param("since") LocalDate since);
+    
+    Long selectStatCount(@Param("dimension") String dimension, @Param("statKey") String statKey);
+    
+    int countStats();
+    
+    List<BarcodeStatDto> selectAllStats();
+    
+    List<BarcodeStatDto> selectStatsFromBarcodes();
+    
+    // MySQL 이름 잠금 (획득하면 1, 다른 세션이 잡고 있으면 0)
+    Integer tryLock(@Param("name") String name);
+    
+    Integer releaseLock(@Param("name") String name);
+}
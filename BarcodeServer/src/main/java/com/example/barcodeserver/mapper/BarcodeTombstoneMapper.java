@@ -0,0 +1,30 @@
+package com.example.barcodeserver.mapper;
+
+import com.example.barcodeserver.dto.BarcodeTombstone;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Mapper
+public interface BarcodeTombstoneMapper {
+    
+    void createTombstoneTableIfNotExists();
+    
+    int insertTombstoneById(@Param("barcodeId") Long barcodeId);
+    
+    int insertTombstoneByValue(@Param("barcodeValue") String barcodeValue);
+    
+    int insertTombstonesByIds(@Param("barcodeIds") Collection<Long> barcodeIds);
+    
+    LocalDateTime selectSyncHorizon(@Param("lagSeconds") long lagSeconds);
+    
+    List<BarcodeTombstone> selectTombstonesAfter(@Param("deletedDate") LocalDateTime deletedDate,
+                                                 @Param("tombstoneId") long tombstoneId,
+                                                 @Param("horizon") LocalDateTime horizon,
+                                                 @Param("limit") int limit);
+    
+    int purgeTombstonesBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
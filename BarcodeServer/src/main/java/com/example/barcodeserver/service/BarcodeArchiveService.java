@@ -0,0 +1,291 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.mapper.BarcodeArchiveMapper;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 바코드 아카이브 서비스.
+ * 오래 INACTIVE 상태인 행(및 설정 시 생성 후 maxAgeDays가 지난 행)을 barcodes에서 created_date 기준 월 단위
+ * RANGE 파티션으로 나뉜 압축 테이블 barcodes_archive로 옮깁니다. barcodes에는 FULLTEXT 인덱스와 created_date를
+ * 포함하지 않는 UNIQUE 키가 있어 MySQL에서 파티셔닝할 수 없으므로, 조회가 몰리는 barcodes는 작게 유지하고
+ * 과거 데이터만 파티션 테이블에 둡니다.
+ *
+ * <ul>
+ *   <li>chunkSize건씩 별도 트랜잭션(READ COMMITTED)으로 잠금 → 복사 → 삭제 기록 → 삭제하며, 청크 사이에 pauseMs만큼 쉬어
+ *       온라인 쓰기와 잠금 경합을 줄입니다.</li>
+ *   <li>옮긴 행은 barcodes에서 삭제된 것으로 보고 통계에서 빼고 삭제 기록(/sync)을 남깁니다.
+ *       ID/값 단건 조회는 includeArchived로 아카이브를 함께 찾을 수 있습니다.</li>
+ *   <li>매일 partitionCron에 앞으로 futureMonths개월까지의 파티션을 미리 만들고,
+ *       retentionMonths가 지난 파티션은 DROP PARTITION으로 행 단위 삭제 없이 정리합니다.</li>
+ * </ul>
+ */
+@Service
+public class BarcodeArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(BarcodeArchiveService.class);
+
+    private static final String MAX_PARTITION = "pmax";
+
+    private static final DateTimeFormatter PARTITION_MONTH = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String[] BARCODE_CACHES = {"barcodesCount", "barcodesByType", "barcodesCountByType", "barcodeByValue"};
+
+    @Autowired
+    private BarcodeArchiveMapper archiveMapper;
+
+    @Autowired
+    private BarcodeMapper barcodeMapper;
+
+    @Autowired
+    private BarcodeStatsService statsService;
+
+    @Autowired
+    private BarcodeSyncService syncService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.inactiveAfterDays:30}")
+    private long inactiveAfterDays;
+
+    @Value("${app.archive.maxAgeDays:0}")
+    private long maxAgeDays;
+
+    @Value("${app.archive.chunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${app.archive.pauseMs:100}")
+    private long pauseMs;
+
+    @Value("${app.archive.partitions.futureMonths:3}")
+    private int futureMonths;
+
+    @Value("${app.archive.partitions.retentionMonths:0}")
+    private int retentionMonths;
+
+    private final AtomicBoolean archiving = new AtomicBoolean();
+
+    private volatile LocalDateTime lastArchivedAt;
+    private volatile long lastArchivedRows;
+    private volatile long lastArchiveMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            archiveMapper.createArchiveTableIfNotExists();
+            maintainPartitions();
+        } catch (Exception e) {
+            log.error("Barcode archive table initialization failed", e);
+        }
+    }
+
+    /**
+     * 다음 futureMonths개월까지의 월 파티션을 추가하고 보관 기간이 지난 파티션을 삭제합니다.
+     * 새 파티션은 비어 있는 pmax를 나눠 만들므로 데이터 복사가 일어나지 않습니다.
+     */
+    @Scheduled(cron = "${app.archive.partitionCron:0 0 1 * * *}")
+    public synchronized void maintainPartitions() {
+        List<String> names = archiveMapper.selectArchivePartitionNames();
+        if (!names.contains(MAX_PARTITION)) {
+            log.warn("barcodes_archive is missing or not partitioned, skipping partition maintenance");
+            return;
+        }
+        List<YearMonth> months = new ArrayList<>();
+        for (String name : names) {
+            if (!MAX_PARTITION.equals(name)) {
+                months.add(YearMonth.parse(name.substring(1), PARTITION_MONTH));
+            }
+        }
+
+        YearMonth next;
+        if (months.isEmpty()) {
+            // 첫 파티션은 가장 오래된 바코드의 월부터 시작합니다 (그 이전 값도 첫 파티션에 들어갑니다)
+            LocalDateTime oldest = archiveMapper.selectOldestBarcodeCreatedDate();
+            next = oldest != null ? YearMonth.from(oldest) : YearMonth.now();
+        } else {
+            next = months.get(months.size() - 1).plusMonths(1);
+        }
+        YearMonth last = YearMonth.now().plusMonths(futureMonths);
+        List<Map<String, String>> partitions = new ArrayList<>();
+        for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+            Map<String, String> partition = new HashMap<>();
+            partition.put("name", "p" + month.format(PARTITION_MONTH));
+            partition.put("lessThan", month.plusMonths(1).atDay(1).toString());
+            partitions.add(partition);
+        }
+        if (!partitions.isEmpty()) {
+            archiveMapper.addArchivePartitions(partitions);
+            log.info("Added {} barcodes_archive partitions up to {}", partitions.size(), last);
+        }
+
+        if (retentionMonths > 0) {
+            YearMonth keepFrom = YearMonth.now().minusMonths(retentionMonths);
+            List<String> expired = new ArrayList<>();
+            for (YearMonth month : months) {
+                if (month.isBefore(keepFrom)) {
+                    expired.add("p" + month.format(PARTITION_MONTH));
+                }
+            }
+            if (!expired.isEmpty()) {
+                archiveMapper.dropArchivePartitions(expired);
+                log.info("Dropped expired barcodes_archive partitions {}", expired);
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 0 2 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * 백그라운드 스레드에서 아카이브를 시작합니다. 이미 진행 중이면 false를 반환합니다.
+     */
+    public boolean archiveAsync() {
+        if (archiving.get()) {
+            return false;
+        }
+        Thread thread = new Thread(this::archive, "barcode-archive");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * 대상 행이 없을 때까지 청크 단위로 아카이브하고 옮긴 행 수를 반환합니다.
+     */
+    public long archive() {
+        if (!archiving.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long startTime = System.currentTimeMillis();
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime inactiveBefore = now.minusDays(inactiveAfterDays);
+            LocalDateTime createdBefore = maxAgeDays > 0 ? now.minusDays(maxAgeDays) : null;
+
+            TransactionTemplate template = new TransactionTemplate(transactionManager);
+            // 조건에 맞지 않는 행의 잠금은 바로 풀리도록 READ COMMITTED로 실행합니다
+            template.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+
+            long archived = 0;
+            long afterId = 0;
+            while (true) {
+                final long chunkAfterId = afterId;
+                List<BarcodeDto> chunk = template.execute(status -> archiveChunk(chunkAfterId, inactiveBefore, createdBefore));
+                if (chunk == null || chunk.isEmpty()) {
+                    break;
+                }
+                archived += chunk.size();
+                afterId = chunk.get(chunk.size() - 1).getBarcodeId();
+                evictCaches();
+                if (chunk.size() < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pauseMs);
+            }
+
+            lastArchivedAt = LocalDateTime.now();
+            lastArchivedRows = archived;
+            lastArchiveMs = System.currentTimeMillis() - startTime;
+            log.info("Archived {} barcodes in {} ms", archived, lastArchiveMs);
+            return archived;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } catch (Exception e) {
+            log.error("Barcode archive failed", e);
+            return 0;
+        } finally {
+            archiving.set(false);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public BarcodeDto getArchivedBarcodeById(Long barcodeId) {
+        return markArchived(archiveMapper.selectArchivedBarcodeById(barcodeId));
+    }
+
+    @Transactional(readOnly = true)
+    public BarcodeDto getArchivedBarcodeByValue(String barcodeValue) {
+        return markArchived(archiveMapper.selectArchivedBarcodeByValue(barcodeValue));
+    }
+
+    private BarcodeDto markArchived(BarcodeDto barcode) {
+        if (barcode != null) {
+            barcode.setArchived(true);
+        }
+        return barcode;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("enabled", enabled);
+        status.put("archiving", archiving.get());
+        status.put("lastArchivedAt", lastArchivedAt);
+        status.put("lastArchivedRows", lastArchivedRows);
+        status.put("lastArchiveMs", lastArchiveMs);
+        status.put("archivedRows", archiveMapper.countArchivedBarcodes());
+        status.put("partitions", archiveMapper.selectArchivePartitionStats());
+        return status;
+    }
+
+    private List<BarcodeDto> archiveChunk(long afterId, LocalDateTime inactiveBefore, LocalDateTime createdBefore) {
+        List<BarcodeDto> chunk = archiveMapper.selectArchiveCandidates(afterId, inactiveBefore, createdBefore, chunkSize);
+        if (chunk.isEmpty()) {
+            return chunk;
+        }
+        List<Long> barcodeIds = new ArrayList<>(chunk.size());
+        for (BarcodeDto barcode : chunk) {
+            barcodeIds.add(barcode.getBarcodeId());
+        }
+        archiveMapper.copyBarcodesToArchive(barcodeIds, LocalDateTime.now());
+        syncService.recordDeletionByIds(barcodeIds);
+        barcodeMapper.deleteBarcodesByIds(barcodeIds);
+        for (BarcodeDto barcode : chunk) {
+            statsService.recordDelete(barcode);
+        }
+        return chunk;
+    }
+
+    private void evictCaches() {
+        for (String name : BARCODE_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import com.example.barcodeserver.util.BloomFilter;
+import org.apache.ibatis.cursor.Cursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * barcode_value 존재 여부를 위한 메모리 Bloom filter 인덱스.
+ * "확실히 없음"이면 DB 조회 없이 바로 false를 반환하여, 대부분 신규인 스캔의 중복 확인 조회를 생략합니다.
+ *
+ * <p>값은 이 인스턴스의 쓰기로만 추가되므로 이 인스턴스가 barcodes 테이블의 유일한 writer일 때만 켭니다
+ * (app.existence-index.enabled, 기본 false). 다른 인스턴스(오토스케일링, 리액티브 서버 등)가 저장한 값은
+ * 이 필터에 없어 "확실히 없음"으로 잘못 답하게 됩니다.
+ *
+ * <ul>
+ *   <li>기동 후 백그라운드에서 테이블을 스트리밍하여 채우며, 완료 전에는 항상 "있을 수 있음"으로 답합니다.</li>
+ *   <li>INSERT 전에 값을 추가하므로 롤백되더라도 오탐만 늘 뿐 누락(false negative)은 생기지 않습니다.</li>
+ *   <li>Bloom filter는 삭제를 지원하지 않으므로 삭제는 건수만 세고, 오탐률이 오르면 재구축합니다.</li>
+ * </ul>
+ */
+@Component
+public class BarcodeExistenceIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BarcodeExistenceIndex.class);
+
+    @Autowired
+    private BarcodeMapper barcodeMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 이 인스턴스가 barcodes의 유일한 writer일 때만 true
+    @Value("${app.existence-index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.existence-index.expectedInsertions:10000000}")
+    private long expectedInsertions;
+
+    @Value("${app.existence-index.falsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    // 재구축 시작 시각보다 이만큼 앞선 시점부터 생성/수정된 행을 한 번 더 반영하여, 늦게 커밋된 행의 누락을 막습니다
+    @Value("${app.existence-index.catchUpSeconds:60}")
+    private long catchUpSeconds;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    private volatile boolean ready;
+    private volatile LocalDateTime lastBuiltAt;
+    private volatile long lastBuildMs;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final LongAdder deletesSinceBuild = new LongAdder();
+    private final LongAdder skippedLookups = new LongAdder();
+    private final LongAdder positiveChecks = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (enabled) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * false면 값이 확실히 없습니다. 인덱스가 준비되지 않았거나 비활성화된 경우 항상 true입니다.
+     */
+    public boolean mightContain(String barcodeValue) {
+        if (!enabled || !ready) {
+            return true;
+        }
+        boolean result = current.mightContain(barcodeValue);
+        if (result) {
+            positiveChecks.increment();
+        } else {
+            skippedLookups.increment();
+        }
+        return result;
+    }
+
+    /**
+     * mightContain이 true였지만 DB에 없던 경우를 기록하여 실측 오탐률을 계산합니다.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public void add(String barcodeValue) {
+        if (!enabled || barcodeValue == null) {
+            return;
+        }
+        BloomFilter filter = current;
+        if (filter != null) {
+            filter.put(barcodeValue);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(barcodeValue);
+        }
+    }
+
+    public void recordDelete() {
+        deletesSinceBuild.increment();
+    }
+
+    /**
+     * 백그라운드 스레드에서 재구축을 시작합니다. 이미 진행 중이면 false를 반환합니다.
+     */
+    public boolean rebuildAsync() {
+        if (!enabled || !rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception e) {
+                log.error("Barcode existence index rebuild failed", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        }, "barcode-existence-index");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    private void rebuild() {
+        long startTime = System.currentTimeMillis();
+        // 행의 생성/수정 시각과 같은 DB 시계로 구합니다 (앱과 DB 시계가 어긋나도 재구축 직전 커밋된 행을 놓치지 않음)
+        LocalDateTime catchUpFrom = barcodeMapper.selectDatabaseTime(catchUpSeconds);
+        BloomFilter filter = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        building = filter;
+
+        // 커서가 열려 있는 동안 SqlSession을 유지하되, 읽기 전용으로 표시하지 않아 primary에서 읽습니다
+        // (지연된 복제본에서 채우면 최근 저장된 값이 빠져 "확실히 없음"으로 잘못 답함)
+        TransactionTemplate primaryRead = new TransactionTemplate(transactionManager);
+        primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_SUPPORTS);
+        primaryRead.executeWithoutResult(status -> loadValues(barcodeMapper.selectAllBarcodeValues(), filter));
+        primaryRead.executeWithoutResult(status -> loadValues(barcodeMapper.selectBarcodeValuesModifiedSince(catchUpFrom), filter));
+
+        current = filter;
+        building = null;
+        deletesSinceBuild.reset();
+        falsePositives.reset();
+        positiveChecks.reset();
+        skippedLookups.reset();
+        lastBuiltAt = LocalDateTime.now();
+        lastBuildMs = System.currentTimeMillis() - startTime;
+        ready = true;
+        log.info("Barcode existence index built: {} values in {} ms", filter.getInsertions(), lastBuildMs);
+    }
+
+    private static void loadValues(Cursor<String> cursor, BloomFilter filter) {
+        try (cursor) {
+            for (String value : cursor) {
+                if (value != null) {
+                    filter.put(value);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", ready);
+        stats.put("rebuilding", rebuilding.get());
+        BloomFilter filter = current;
+        if (filter != null) {
+            long checks = positiveChecks.sum();
+            stats.put("bitSize", filter.getBitSize());
+            stats.put("memoryBytes", filter.getBitSize() / 8);
+            stats.put("hashFunctions", filter.getHashFunctions());
+            stats.put("insertions", filter.getInsertions());
+            stats.put("expectedInsertions", expectedInsertions);
+            stats.put("targetFalsePositiveRate", falsePositiveRate);
+            stats.put("estimatedFalsePositiveRate", filter.expectedFalsePositiveRate());
+            stats.put("observedFalsePositiveRate", checks > 0 ? (double) falsePositives.sum() / checks : 0.0);
+            stats.put("skippedLookups", skippedLookups.sum());
+            stats.put("deletesSinceBuild", deletesSinceBuild.sum());
+            stats.put("rebuildRecommended", isRebuildRecommended(filter));
+            stats.put("lastBuiltAt", lastBuiltAt);
+            stats.put("lastBuildMs", lastBuildMs);
+        }
+        return stats;
+    }
+
+    /**
+     * 예상 원소 수를 넘었거나 삭제가 누적되어 추정 오탐률이 목표의 두 배를 넘으면 재구축을 권장합니다.
+     */
+    private boolean isRebuildRecommended(BloomFilter filter) {
+        return filter.getInsertions() > expectedInsertions
+                || filter.expectedFalsePositiveRate() > falsePositiveRate * 2
+                || deletesSinceBuild.sum() > filter.getInsertions() / 5;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 바코드 목록을 MyBatis Cursor로 한 행씩 읽어 NDJSON/CSV로 바로 출력합니다.
+ * 결과 전체를 List로 모으지 않으므로 결과 크기와 무관하게 메모리 사용량이 일정합니다.
+ */
+@Service
+public class BarcodeExportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String[] CSV_HEADER = {
+            "barcode_id", "barcode_value", "barcode_type", "phone_model", "status", "created_date", "updated_date"
+    };
+
+    @Autowired
+    private BarcodeMapper barcodeMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.export.flushInterval:500}")
+    private int flushInterval;
+
+    /**
+     * 조건에 맞는 바코드를 지정한 형식으로 out에 기록하고, 기록한 행 수를 반환합니다.
+     * Cursor는 트랜잭션(SqlSession)이 열려 있는 동안만 유효하므로 전체 출력이 하나의 읽기 전용 트랜잭션 안에서 수행됩니다.
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, String barcodeType, String status, String productName, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Cursor<BarcodeDto> cursor = barcodeMapper.selectBarcodesForExport(barcodeType, status, productName)) {
+            long count = format == Format.CSV ? writeCsv(cursor, writer) : writeNdjson(cursor, writer);
+            writer.flush();
+            return count;
+        }
+    }
+
+    private long writeNdjson(Cursor<BarcodeDto> cursor, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        // ObjectMapper.writeValue는 FLUSH_AFTER_WRITE_VALUE(기본값 켜짐)로 행마다 flush하므로 끄고 flushInterval로만 flush합니다
+        ObjectWriter rowWriter = objectMapper.writerFor(BarcodeDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        long count = 0;
+        for (BarcodeDto barcode : cursor) {
+            rowWriter.writeValue(generator, barcode);
+            generator.writeRaw('\n');
+            count++;
+            flushIfNeeded(count, generator);
+        }
+        generator.close();
+        return count;
+    }
+
+    private long writeCsv(Cursor<BarcodeDto> cursor, Writer writer) throws IOException {
+        writer.write(String.join(",", CSV_HEADER));
+        writer.write('\n');
+
+        long count = 0;
+        for (BarcodeDto barcode : cursor) {
+            writer.write(String.valueOf(barcode.getBarcodeId()));
+            writer.write(',');
+            writeCsvField(writer, barcode.getBarcodeValue());
+            writer.write(',');
+            writeCsvField(writer, barcode.getBarcodeType());
+            writer.write(',');
+            writeCsvField(writer, barcode.getPhoneModel());
+            writer.write(',');
+            writeCsvField(writer, barcode.getStatus());
+            writer.write(',');
+            writeCsvField(writer, barcode.getCreatedDate() != null ? barcode.getCreatedDate().toString() : null);
+            writer.write(',');
+            writeCsvField(writer, barcode.getUpdatedDate() != null ? barcode.getUpdatedDate().toString() : null);
+            writer.write('\n');
+            count++;
+            flushIfNeeded(count, writer);
+        }
+        return count;
+    }
+
+    /**
+     * 첫 행은 즉시 내보내 첫 바이트가 빨리 도착하도록 하고, 이후에는 flushInterval 행마다 flush합니다.
+     */
+    private void flushIfNeeded(long count, Flushable flushable) throws IOException {
+        if (count == 1 || count % flushInterval == 0) {
+            flushable.flush();
+        }
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
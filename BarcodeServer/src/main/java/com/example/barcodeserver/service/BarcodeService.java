@@ -1,42 +1,143 @@
 package com.example.barcodeserver.service;
 
+import com.example.barcodeserver.dto.BarcodeCursor;
 import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.BarcodeFields;
 import com.example.barcodeserver.mapper.BarcodeMapper;
+import com.example.barcodeserver.util.SingleFlight;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Transactional
 public class BarcodeService {
 
+    // IN 목록이 너무 길어지지 않도록 나눠서 조회하는 단위
+    private static final int EXISTS_QUERY_CHUNK_SIZE = 1000;
+
+    // MySQL ngram_token_size 기본값
+    private static final int MIN_SEARCH_TERM_LENGTH = 2;
+
     @Autowired
     private BarcodeMapper barcodeMapper;
+    
+    @Autowired
+    private BarcodeExistenceIndex existenceIndex;
+    
+    @Autowired
+    private BarcodeStatsService statsService;
+    
+    @Autowired
+    private BarcodeSyncService syncService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // 검색은 앞쪽 maxResults건까지만 페이징하므로 열마다 그만큼만 후보로 남깁니다
+    @Value("${app.search.maxResults:1000}")
+    private int maxSearchResults;
+
+    // 인기 코드를 여러 기기가 동시에 스캔할 때 같은 값의 동시 조회를 DB 조회 한 번으로 합칩니다
+    private final SingleFlight<String, BarcodeDto> byValueLookups = new SingleFlight<>();
+    private final SingleFlight<String, Boolean> existsLookups = new SingleFlight<>();
+    private final Map<String, DistributionSummary> batchSizeSummaries = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerLookupMetrics() {
+        registerSingleFlightMetrics("byValue", byValueLookups);
+        registerSingleFlightMetrics("exists", existsLookups);
+    }
+
+    private void registerSingleFlightMetrics(String operation, SingleFlight<String, ?> singleFlight) {
+        FunctionCounter.builder("barcode.lookup.singleflight", singleFlight, SingleFlight::getExecutions)
+                .description("Barcode lookups by whether they queried the database or shared an in-flight query")
+                .tags("operation", operation, "result", "executed")
+                .register(meterRegistry);
+        FunctionCounter.builder("barcode.lookup.singleflight", singleFlight, SingleFlight::getSharedCalls)
+                .description("Barcode lookups by whether they queried the database or shared an in-flight query")
+                .tags("operation", operation, "result", "shared")
+                .register(meterRegistry);
+    }
 
-    @CacheEvict(value = {"barcodesCount", "recentBarcodes"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = {"barcodesCount", "barcodesByType", "barcodesCountByType"}, allEntries = true),
+            @CacheEvict(value = "barcodeByValue", key = "#barcodeDto.barcodeValue")
+    })
     public void saveBarcode(BarcodeDto barcodeDto) {
-        barcodeDto.setCreatedDate(LocalDateTime.now());
+        // 행에 저장되는 created_date와 통계의 일자 버킷/응답이 같은 값이 되도록 DB 시계로 정해서 바인딩합니다
+        barcodeDto.setCreatedDate(barcodeMapper.selectDatabaseTime(0));
         if (barcodeDto.getStatus() == null) {
             barcodeDto.setStatus("ACTIVE");
         }
+        existenceIndex.add(barcodeDto.getBarcodeValue());
         barcodeMapper.insertBarcode(barcodeDto);
+        statsService.recordInsert(List.of(barcodeDto));
     }
 
-    @CacheEvict(value = {"barcodesCount", "recentBarcodes"}, allEntries = true)
+    @CacheEvict(value = {"barcodesCount", "barcodesByType", "barcodesCountByType", "barcodeByValue"}, allEntries = true)
     public void saveBarcodes(List<BarcodeDto> barcodes) {
-        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime now = barcodeMapper.selectDatabaseTime(0);
         for (BarcodeDto barcode : barcodes) {
             barcode.setCreatedDate(now);
             if (barcode.getStatus() == null) {
                 barcode.setStatus("ACTIVE");
             }
+            existenceIndex.add(barcode.getBarcodeValue());
         }
+        recordBatchSize(barcodes.size());
         barcodeMapper.insertBarcodes(barcodes);
+        statsService.recordInsert(barcodes);
+    }
+
+    /**
+     * 이미 저장된 값은 건너뛰고 나머지만 저장하며, 실제로 삽입된 건수를 반환합니다.
+     * 같은 배치를 재시도해도 중복 행이 생기지 않습니다.
+     */
+    @CacheEvict(value = {"barcodesCount", "barcodesByType", "barcodesCountByType", "barcodeByValue"}, allEntries = true)
+    public int upsertBarcodes(List<BarcodeDto> barcodes) {
+        LocalDateTime now = barcodeMapper.selectDatabaseTime(0);
+        for (BarcodeDto barcode : barcodes) {
+            barcode.setCreatedDate(now);
+            if (barcode.getStatus() == null) {
+                barcode.setStatus("ACTIVE");
+            }
+            existenceIndex.add(barcode.getBarcodeValue());
+        }
+        recordBatchSize(barcodes.size());
+        int inserted = 0;
+        for (List<BarcodeDto> group : BarcodeStatsService.groupByStatKeys(barcodes)) {
+            int groupInserted = barcodeMapper.upsertBarcodes(group);
+            statsService.recordInsert(group.get(0), groupInserted);
+            inserted += groupInserted;
+        }
+        return inserted;
+    }
+
+    private void recordBatchSize(int size) {
+        batchSizeSummaries.computeIfAbsent("batch", source -> DistributionSummary.builder("barcode.ingest.batch.size")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(size);
     }
 
     @Transactional(readOnly = true)
@@ -44,9 +145,20 @@ public class BarcodeService {
         return barcodeMapper.selectBarcodeById(barcodeId);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 캐시 미스인 같은 값의 동시 조회는 하나의 DB 조회 결과를 함께 사용하며, 없는 값(null)은 짧게 캐시됩니다
+     * (app.cache.barcodeByValue.negativeTtl). 존재 여부 인덱스가 "확실히 없음"이라고 답하면 조회하지 않습니다.
+     * 대기하는 동안 커넥션을 잡고 있지 않도록 트랜잭션을 시작하지 않고, 조회할 때만 커넥션을 사용합니다.
+     * 캐시에 담는 조회는 primary에서 읽습니다 (readOnly 아님). 복제본에서 읽으면 쓰기가 캐시를 비운 직후
+     * 복제 지연된 값을 다시 캐시하여 TTL 동안 오래된 값을 응답할 수 있습니다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Cacheable(value = "barcodeByValue", key = "#barcodeValue")
     public BarcodeDto getBarcodeByValue(String barcodeValue) {
-        return barcodeMapper.selectBarcodeByValue(barcodeValue);
+        if (!existenceIndex.mightContain(barcodeValue)) {
+            return null;
+        }
+        return byValueLookups.execute(barcodeValue, () -> barcodeMapper.selectBarcodeByValue(barcodeValue));
     }
 
     @Transactional(readOnly = true)
@@ -54,14 +166,16 @@ public class BarcodeService {
         return barcodeMapper.selectAllBarcodes();
     }
 
-    @Transactional(readOnly = true)
-    public List<BarcodeDto> getBarcodesByType(String barcodeType) {
-        return barcodeMapper.selectBarcodesByType(barcodeType);
+    // 캐시에 담는 조회는 primary에서 읽습니다 (getBarcodeByValue 참고)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Cacheable(value = "barcodesByType", key = "#barcodeType + ':' + #fields.key()")
+    public List<BarcodeDto> getBarcodesByType(String barcodeType, BarcodeFields fields) {
+        return barcodeMapper.selectBarcodesByType(barcodeType, fields.columns());
     }
 
     @Transactional(readOnly = true)
-    public List<BarcodeDto> getBarcodesByCategory(String category) {
-        return barcodeMapper.selectBarcodesByCategory(category);
+    public List<BarcodeDto> getBarcodesByCategory(String category, BarcodeFields fields) {
+        return barcodeMapper.selectBarcodesByCategory(category, fields.columns());
     }
 
     @Transactional(readOnly = true)
@@ -69,50 +183,201 @@ public class BarcodeService {
         return barcodeMapper.selectBarcodesByStatus(status);
     }
 
+    /**
+     * ngram FULLTEXT 인덱스로 휴대폰 모델/바코드 값을 부분 문자열 검색하여 관련도순으로 반환합니다.
+     * 검색어를 공백으로 나눈 각 단어가 모두 포함된 행만 찾습니다 (단어는 ngram 구문으로 검색).
+     * 바코드 값은 앞 64자(barcode_value_head)만 색인되어 있으므로 그 뒤의 부분 문자열은 찾지 않습니다.
+     */
     @Transactional(readOnly = true)
-    public List<BarcodeDto> searchBarcodesByProductName(String productName) {
-        return barcodeMapper.selectBarcodesByProductName(productName);
+    public List<BarcodeDto> searchBarcodes(String query, boolean searchPhoneModel, boolean searchBarcodeValue,
+                                           int offset, int limit) {
+        String booleanQuery = toBooleanModeQuery(query);
+        if (booleanQuery == null) {
+            throw new IllegalArgumentException("Search query must contain a term of at least " + MIN_SEARCH_TERM_LENGTH + " characters");
+        }
+        return barcodeMapper.searchBarcodes(booleanQuery, searchPhoneModel, searchBarcodeValue, offset, limit, maxSearchResults);
     }
 
-    @CacheEvict(value = {"barcodesCount", "recentBarcodes"}, allEntries = true)
+    /**
+     * 바코드 값이 prefix로 시작하는 행을 값 순서로 반환합니다. LIKE 와일드카드 문자는 그대로 검색됩니다.
+     */
+    @Transactional(readOnly = true)
+    public List<BarcodeDto> searchBarcodesByValuePrefix(String prefix, int offset, int limit) {
+        String escaped = prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return barcodeMapper.searchBarcodesByValuePrefix(escaped, offset, limit);
+    }
+
+    /**
+     * 사용자 입력을 BOOLEAN MODE 검색식으로 바꿉니다. 연산자 문자는 제거하고 각 단어를 필수 구문(+"단어")으로 만듭니다.
+     * ngram 토큰 크기보다 짧은 단어는 인덱스로 찾을 수 없으므로 제외하며, 남는 단어가 없으면 null을 반환합니다.
+     */
+    private static String toBooleanModeQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder booleanQuery = new StringBuilder();
+        for (String term : query.replaceAll("[+\\-<>()~*\"@]", " ").trim().split("\\s+")) {
+            if (term.length() < MIN_SEARCH_TERM_LENGTH) {
+                continue;
+            }
+            if (booleanQuery.length() > 0) {
+                booleanQuery.append(' ');
+            }
+            booleanQuery.append("+\"").append(term).append('"');
+        }
+        return booleanQuery.length() > 0 ? booleanQuery.toString() : null;
+    }
+
+    @CacheEvict(value = {"barcodesCount", "barcodesByType", "barcodesCountByType", "barcodeByValue"}, allEntries = true)
     public void updateBarcode(BarcodeDto barcodeDto) {
-        barcodeDto.setUpdatedDate(LocalDateTime.now());
+        existenceIndex.add(barcodeDto.getBarcodeValue());
+        BarcodeDto before = barcodeMapper.selectBarcodeByIdForUpdate(barcodeDto.getBarcodeId());
+        // 응답의 생성/수정 시각이 저장된 값과 같도록 생성 시각은 기존 행에서, 수정 시각은 DB 시계에서 가져옵니다
+        barcodeDto.setCreatedDate(before != null ? before.getCreatedDate() : null);
+        barcodeDto.setUpdatedDate(barcodeMapper.selectDatabaseTime(0));
         barcodeMapper.updateBarcode(barcodeDto);
+        statsService.recordUpdate(before, barcodeDto);
     }
 
-    @CacheEvict(value = {"barcodesCount", "recentBarcodes"}, allEntries = true)
+    @CacheEvict(value = {"barcodesCount", "barcodesByType", "barcodesCountByType", "barcodeByValue"}, allEntries = true)
     public void updateBarcodeStatus(Long barcodeId, String status) {
+        BarcodeDto before = barcodeMapper.selectBarcodeByIdForUpdate(barcodeId);
         barcodeMapper.updateBarcodeStatus(barcodeId, status);
+        if (before != null) {
+            BarcodeDto after = new BarcodeDto(before.getBarcodeValue(), before.getBarcodeType());
+            after.setPhoneModel(before.getPhoneModel());
+            after.setStatus(status);
+            statsService.recordUpdate(before, after);
+        }
     }
 
-    @CacheEvict(value = {"barcodesCount", "recentBarcodes"}, allEntries = true)
+    @CacheEvict(value = {"barcodesCount", "barcodesByType", "barcodesCountByType", "barcodeByValue"}, allEntries = true)
     public void deleteBarcodeById(Long barcodeId) {
+        BarcodeDto before = barcodeMapper.selectBarcodeByIdForUpdate(barcodeId);
+        syncService.recordDeletionById(barcodeId);
         barcodeMapper.deleteBarcodeById(barcodeId);
+        existenceIndex.recordDelete();
+        statsService.recordDelete(before);
     }
 
-    @CacheEvict(value = {"barcodesCount", "recentBarcodes"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = {"barcodesCount", "barcodesByType", "barcodesCountByType"}, allEntries = true),
+            @CacheEvict(value = "barcodeByValue", key = "#barcodeValue")
+    })
     public void deleteBarcodeByValue(String barcodeValue) {
+        BarcodeDto before = barcodeMapper.selectBarcodeByValueForUpdate(barcodeValue);
+        syncService.recordDeletionByValue(barcodeValue);
         barcodeMapper.deleteBarcodeByValue(barcodeValue);
+        existenceIndex.recordDelete();
+        statsService.recordDelete(before);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 같은 값의 행 중 가장 먼저 저장된 행(가장 작은 barcode_id)만 남기고 나머지를 삭제하며, 삭제한 행 수를 반환합니다.
+     * barcode_value_hash UNIQUE 인덱스를 만들기 전 중복 정리용입니다. 동기화 클라이언트가 알 수 있도록 삭제 기록을 남기며,
+     * 통계는 호출한 쪽에서 재집계합니다.
+     */
+    @CacheEvict(value = {"barcodesCount", "barcodesByType", "barcodesCountByType", "barcodeByValue"}, allEntries = true)
+    public int removeDuplicateValues() {
+        List<Long> duplicateIds = barcodeMapper.selectDuplicateValueIds();
+        for (int from = 0; from < duplicateIds.size(); from += EXISTS_QUERY_CHUNK_SIZE) {
+            List<Long> chunk = duplicateIds.subList(from, Math.min(from + EXISTS_QUERY_CHUNK_SIZE, duplicateIds.size()));
+            syncService.recordDeletionByIds(chunk);
+            barcodeMapper.deleteBarcodesByIds(chunk);
+        }
+        return duplicateIds.size();
+    }
+
+    @Transactional(propagation = Propagation.SUPPORTS)
     @Cacheable(value = "barcodesCount")
     public int getTotalBarcodesCount() {
-        return barcodeMapper.countTotalBarcodes();
+        Long count = statsService.getCount(BarcodeStatsService.TOTAL, "");
+        return count != null ? count.intValue() : barcodeMapper.countTotalBarcodes();
     }
 
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
+    @Cacheable(value = "barcodesCountByType", key = "#barcodeType")
     public int getBarcodesCountByType(String barcodeType) {
-        return barcodeMapper.countBarcodesByType(barcodeType);
+        Long count = statsService.getCount(BarcodeStatsService.TYPE, barcodeType);
+        return count != null ? count.intValue() : barcodeMapper.countBarcodesByType(barcodeType);
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * 존재 여부 인덱스가 "확실히 없음"이라고 답하면 DB를 조회하지 않습니다.
+     * 스캔 직후 중복 확인에 쓰이므로 복제 지연이 없는 primary에서 읽습니다 (readOnly 아님).
+     * 같은 값의 동시 확인은 진행 중인 조회 하나의 결과를 함께 받습니다.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean existsByBarcodeValue(String barcodeValue) {
-        return barcodeMapper.selectBarcodeByValue(barcodeValue) != null;
+        if (!existenceIndex.mightContain(barcodeValue)) {
+            return false;
+        }
+        return existsLookups.execute(barcodeValue, () -> {
+            boolean exists = barcodeMapper.selectBarcodeByValue(barcodeValue) != null;
+            if (!exists) {
+                existenceIndex.recordFalsePositive();
+            }
+            return exists;
+        });
+    }
+    
+    /**
+     * 주어진 값들 중 이미 저장된 값만 입력 순서대로 반환합니다.
+     * 존재 여부 인덱스가 "확실히 없음"이라고 답한 값은 제외하고, 나머지만 IN 조회로 한 번에 확인합니다.
+     * existsByBarcodeValue와 같은 이유로 primary에서 읽습니다.
+     */
+    @Transactional
+    public Set<String> findExistingBarcodeValues(Collection<String> barcodeValues) {
+        Set<String> candidates = new LinkedHashSet<>();
+        for (String value : barcodeValues) {
+            if (value != null && existenceIndex.mightContain(value)) {
+                candidates.add(value);
+            }
+        }
+        
+        Set<String> found = new LinkedHashSet<>();
+        List<String> chunk = new ArrayList<>(EXISTS_QUERY_CHUNK_SIZE);
+        for (String value : candidates) {
+            chunk.add(value);
+            if (chunk.size() == EXISTS_QUERY_CHUNK_SIZE) {
+                found.addAll(barcodeMapper.selectExistingBarcodeValues(chunk));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            found.addAll(barcodeMapper.selectExistingBarcodeValues(chunk));
+        }
+        
+        for (int i = found.size(); i < candidates.size(); i++) {
+            existenceIndex.recordFalsePositive();
+        }
+        
+        // DB 정렬(collation)에 따른 순서 대신 요청 순서를 유지합니다
+        Set<String> existing = new LinkedHashSet<>();
+        for (String value : candidates) {
+            if (found.contains(value)) {
+                existing.add(value);
+            }
+        }
+        return existing;
     }
     
     @Transactional(readOnly = true)
-    public List<BarcodeDto> getBarcodesPaginated(int offset, int limit) {
-        return barcodeMapper.selectBarcodesPaginated(offset, limit);
+    public List<BarcodeDto> getBarcodesPaginated(int offset, int limit, BarcodeFields fields) {
+        return barcodeMapper.selectBarcodesPaginated(offset, limit, fields.columns());
+    }
+
+    /**
+     * 커서 이후의 바코드를 최신순으로 조회합니다. cursor가 null이면 첫 페이지를 조회합니다.
+     * OFFSET 없이 (created_date, barcode_id) 조건으로 탐색하므로 페이지 깊이와 무관하게 비용이 일정합니다.
+     * 다음 커서를 만들 수 있도록 fields와 관계없이 created_date는 항상 조회합니다.
+     */
+    @Transactional(readOnly = true)
+    public List<BarcodeDto> getBarcodesAfterCursor(BarcodeCursor cursor, int limit, BarcodeFields fields) {
+        List<String> columns = fields.withCreatedDate().columns();
+        if (cursor == null) {
+            return barcodeMapper.selectBarcodesAfterCursor(null, null, limit, columns);
+        }
+        return barcodeMapper.selectBarcodesAfterCursor(cursor.getCreatedDate(), cursor.getBarcodeId(), limit, columns);
     }
 }
\ No newline at end of file
@@ -0,0 +1,402 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.BarcodeStatDto;
+import com.example.barcodeserver.mapper.BarcodeStatsMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 바코드 사전 집계 통계 서비스.
+ * 전체/타입별/상태별/휴대폰 모델별/일자별 건수를 barcode_stats 테이블에 유지하여 COUNT(*) 전체 스캔 없이 조회합니다.
+ *
+ * <ul>
+ *   <li>증감분은 쓰기 트랜잭션 안에서 모아 커밋 직전에 한 번의 INSERT ... ON DUPLICATE KEY UPDATE로 반영합니다.
+ *       barcodes 변경과 통계 변경이 함께 커밋되므로 인스턴스가 여러 개여도 메모리에 남은 증감분이 없습니다.
+ *       통계 행은 항상 같은 순서로 잠그며, TOTAL 같은 공통 행의 잠금은 커밋 직전부터 커밋까지만 잡습니다.</li>
+ *   <li>upsert는 통계 키가 같은 행끼리 한 문으로 저장하고, 그 문의 영향받은 행 수를 증감분으로 씁니다.</li>
+ *   <li>재집계는 REPEATABLE READ 스냅숏 하나에서 barcode_stats와 barcodes 스캔 결과를 함께 읽고 그 차이만 더합니다.
+ *       스냅숏 이후에 커밋된 쓰기의 증감분은 양쪽 모두에 없으므로 두 번 집계되거나 빠지지 않고, 스캔 중에도 쓰기를 막지 않습니다.
+ *       여러 인스턴스가 동시에 더하지 않도록 DB 잠금(GET_LOCK)을 잡은 인스턴스만 실행하며,
+ *       매일 reconcileCron에 전용 스레드에서 실행되고 실패하면 dirtyCheckMs 주기로 다시 시도합니다.</li>
+ * </ul>
+ */
+@Service
+public class BarcodeStatsService {
+
+    public static final String TOTAL = "TOTAL";
+    public static final String TYPE = "TYPE";
+    public static final String STATUS = "STATUS";
+    public static final String PHONE_MODEL = "PHONE_MODEL";
+    public static final String DAY = "DAY";
+
+    private static final Logger log = LoggerFactory.getLogger(BarcodeStatsService.class);
+
+    private static final String RECONCILE_LOCK = "barcode_stats_reconcile";
+
+    private static final String INCREMENT_SQL =
+            "INSERT INTO barcode_stats (dimension, stat_key, barcode_count, updated_date) VALUES (?, ?, ?, NOW()) " +
+            "ON DUPLICATE KEY UPDATE barcode_count = barcode_count + VALUES(barcode_count), updated_date = NOW()";
+
+    // 통계 행을 잠그는 순서. 트랜잭션끼리 같은 순서로 잠가야 서로 교착되지 않습니다
+    private static final Comparator<StatKey> LOCK_ORDER =
+            Comparator.comparing(StatKey::dimension).thenComparing(StatKey::statKey);
+
+    @Autowired
+    private BarcodeStatsMapper statsMapper;
+
+    // 벌크 적재 트랜잭션은 BATCH 실행기 SqlSession에 묶여 있어 SIMPLE 매퍼를 쓸 수 없으므로,
+    // 증감분은 실행기와 무관하게 트랜잭션 커넥션을 그대로 쓰는 JdbcTemplate으로 반영합니다
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.stats.summaryDays:30}")
+    private int summaryDays;
+
+    @Value("${app.stats.topPhoneModels:20}")
+    private int topPhoneModels;
+
+    private final ExecutorService reconcileExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "barcode-stats-reconcile");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean reconciling = new AtomicBoolean();
+    private volatile boolean ready;
+    private volatile LocalDateTime lastReconciledAt;
+    private volatile long lastReconcileMs;
+
+    private record StatKey(String dimension, String statKey) {
+    }
+
+    /**
+     * 한 트랜잭션의 증감분을 모았다가 커밋 직전에 반영합니다. 롤백되면 아무것도 반영하지 않습니다.
+     */
+    private final class TransactionDeltas implements TransactionSynchronization {
+
+        private final Map<StatKey, Long> deltas = new TreeMap<>(LOCK_ORDER);
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            incrementStats(deltas);
+        }
+    }
+
+    /**
+     * 통계 테이블이 없으면 만들고, 비어 있으면(최초 기동) 백그라운드에서 재집계합니다.
+     * 실패해도 기동은 계속되며, 준비되기 전까지 건수 조회는 COUNT 쿼리로 대체됩니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            statsMapper.createStatsTableIfNotExists();
+            if (statsMapper.countStats() > 0) {
+                ready = true;
+            } else {
+                reconcileAsync();
+            }
+        } catch (Exception e) {
+            log.error("Barcode stats initialization failed", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        reconcileExecutor.shutdownNow();
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public void recordInsert(Collection<BarcodeDto> barcodes) {
+        if (!enabled || barcodes.isEmpty()) {
+            return;
+        }
+        Map<StatKey, Long> deltas = new LinkedHashMap<>();
+        for (BarcodeDto barcode : barcodes) {
+            addDeltas(deltas, barcode, 1);
+        }
+        applyInTransaction(deltas);
+    }
+
+    /**
+     * 통계 키가 같은 묶음(groupByStatKeys)에서 실제로 삽입된 건수만큼 반영합니다.
+     */
+    public void recordInsert(BarcodeDto representative, long inserted) {
+        if (!enabled || inserted <= 0) {
+            return;
+        }
+        Map<StatKey, Long> deltas = new LinkedHashMap<>();
+        addDeltas(deltas, representative, inserted);
+        applyInTransaction(deltas);
+    }
+
+    /**
+     * 타입/상태/휴대폰 모델/생성일이 같은 행끼리 묶습니다.
+     * 묶음마다 멱등 INSERT 한 문으로 저장하면 영향받은 행 수(useAffectedRows=true)가 곧 그 묶음의 삽입 건수이므로,
+     * 어떤 행을 건너뛰었는지 몰라도 모든 차원의 증감분을 정확히 구할 수 있습니다.
+     */
+    public static Collection<List<BarcodeDto>> groupByStatKeys(Collection<BarcodeDto> barcodes) {
+        Map<List<String>, List<BarcodeDto>> groups = new LinkedHashMap<>();
+        for (BarcodeDto barcode : barcodes) {
+            List<String> key = List.of(keyOf(barcode.getBarcodeType()), keyOf(barcode.getStatus()),
+                    keyOf(barcode.getPhoneModel()), dayOf(barcode));
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(barcode);
+        }
+        return groups.values();
+    }
+
+    public void recordDelete(BarcodeDto removed) {
+        if (!enabled || removed == null) {
+            return;
+        }
+        Map<StatKey, Long> deltas = new LinkedHashMap<>();
+        addDeltas(deltas, removed, -1);
+        applyInTransaction(deltas);
+    }
+
+    /**
+     * 변경 전후 행의 타입/상태/휴대폰 모델 차이만 반영합니다. 생성일은 수정되지 않으므로 DAY는 그대로입니다.
+     */
+    public void recordUpdate(BarcodeDto before, BarcodeDto after) {
+        if (!enabled || before == null || after == null) {
+            return;
+        }
+        Map<StatKey, Long> deltas = new LinkedHashMap<>();
+        addDimensionDelta(deltas, TYPE, before.getBarcodeType(), after.getBarcodeType());
+        addDimensionDelta(deltas, STATUS, before.getStatus(), after.getStatus());
+        addDimensionDelta(deltas, PHONE_MODEL, before.getPhoneModel(), after.getPhoneModel());
+        applyInTransaction(deltas);
+    }
+
+    /**
+     * 통계 값을 반환합니다. 아직 구축되지 않았으면 null을 반환하므로 호출자는 COUNT 조회로 대체합니다.
+     */
+    public Long getCount(String dimension, String statKey) {
+        if (!isReady()) {
+            return null;
+        }
+        Long stored = statsMapper.selectStatCount(dimension, statKey);
+        return stored != null ? stored : 0L;
+    }
+
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("ready", isReady());
+        summary.put("total", getCount(TOTAL, ""));
+        summary.put("byType", toCountMap(statsMapper.selectStatsByDimension(TYPE)));
+        summary.put("byStatus", toCountMap(statsMapper.selectStatsByDimension(STATUS)));
+        summary.put("byPhoneModel", toCountMap(statsMapper.selectTopStatsByDimension(PHONE_MODEL, topPhoneModels)));
+        summary.put("byDay", toCountMap(statsMapper.selectDailyStatsSince(LocalDate.now().minusDays(summaryDays - 1L))));
+        summary.put("dirty", dirty.get());
+        summary.put("lastReconciledAt", lastReconciledAt);
+        summary.put("lastReconcileMs", lastReconcileMs);
+        return summary;
+    }
+
+    @Scheduled(cron = "${app.stats.reconcileCron:0 30 3 * * *}")
+    public void scheduledReconcile() {
+        reconcileAsync();
+    }
+
+    /**
+     * 재집계가 실패한 경우에만 다시 시도합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.dirtyCheckMs:600000}")
+    public void reconcileIfDirty() {
+        if (dirty.get()) {
+            reconcileAsync();
+        }
+    }
+
+    /**
+     * 전용 스레드에서 재집계를 시작합니다. 비활성화되었거나 이미 진행 중이면 false를 반환합니다.
+     * 스캔이 스케줄러 스레드를 붙잡지 않으므로 증감분 반영 등 다른 작업이 밀리지 않습니다.
+     */
+    public boolean reconcileAsync() {
+        if (!enabled || !reconciling.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            reconcileExecutor.execute(this::reconcileLocked);
+        } catch (RuntimeException e) {
+            reconciling.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * 호출 스레드에서 재집계합니다. 이미 진행 중이면 아무것도 하지 않습니다.
+     */
+    public void reconcile() {
+        if (enabled && reconciling.compareAndSet(false, true)) {
+            reconcileLocked();
+        }
+    }
+
+    /**
+     * 한 스냅숏에서 읽은 barcode_stats와 barcodes 스캔 결과의 차이만 더합니다.
+     * 스캔은 REPEATABLE READ의 잠금 없는 일관된 읽기이므로 원본 행을 잠그지 않습니다 (스캔 중에도 쓰기 가능).
+     * 다른 인스턴스가 재집계 중이면 건너뜁니다.
+     */
+    private void reconcileLocked() {
+        try {
+            long startTime = System.currentTimeMillis();
+            dirty.set(false);
+
+            // GET_LOCK은 세션 단위이므로 잠금과 해제를 바깥 트랜잭션의 같은 커넥션에서 실행하고,
+            // 차이를 더하는 트랜잭션이 커밋된 뒤에 해제하여 다음 재집계가 그 결과를 스냅숏에서 보도록 합니다
+            Boolean reconciled = new TransactionTemplate(transactionManager).execute(lockStatus -> {
+                Integer locked = statsMapper.tryLock(RECONCILE_LOCK);
+                if (locked == null || locked != 1) {
+                    return false;
+                }
+                try {
+                    TransactionTemplate template = new TransactionTemplate(transactionManager);
+                    template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                    template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+                    template.executeWithoutResult(status -> {
+                        // 트랜잭션의 첫 일관된 읽기에서 스냅숏이 정해지며, 두 조회 모두 같은 스냅숏을 읽습니다
+                        Map<StatKey, Long> drift = new TreeMap<>(LOCK_ORDER);
+                        for (BarcodeStatDto stat : statsMapper.selectAllStats()) {
+                            drift.merge(new StatKey(stat.getDimension(), stat.getStatKey()), -stat.getBarcodeCount(), Long::sum);
+                        }
+                        for (BarcodeStatDto stat : statsMapper.selectStatsFromBarcodes()) {
+                            drift.merge(new StatKey(stat.getDimension(), stat.getStatKey()), stat.getBarcodeCount(), Long::sum);
+                        }
+                        incrementStats(drift);
+                    });
+                } finally {
+                    statsMapper.releaseLock(RECONCILE_LOCK);
+                }
+                return true;
+            });
+
+            if (!Boolean.TRUE.equals(reconciled)) {
+                // 다른 인스턴스가 구축 중인 통계는 아직 쓸 수 없으므로, 준비되기 전이면 dirtyCheckMs 뒤에 다시 시도합니다
+                dirty.set(!ready);
+                log.info("Barcode stats reconcile skipped, another instance holds the lock");
+                return;
+            }
+            lastReconciledAt = LocalDateTime.now();
+            lastReconcileMs = System.currentTimeMillis() - startTime;
+            ready = true;
+            log.info("Barcode stats reconciled in {} ms", lastReconcileMs);
+        } catch (Exception e) {
+            dirty.set(true);
+            log.error("Barcode stats reconcile failed", e);
+        } finally {
+            reconciling.set(false);
+        }
+    }
+
+    /**
+     * 트랜잭션 안이면 그 트랜잭션의 증감분에 더해 커밋 직전에 함께 반영하고, 트랜잭션 밖이면 바로 반영합니다.
+     */
+    private void applyInTransaction(Map<StatKey, Long> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementStats(deltas);
+            return;
+        }
+        TransactionDeltas transactionDeltas = null;
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof TransactionDeltas registered) {
+                transactionDeltas = registered;
+                break;
+            }
+        }
+        if (transactionDeltas == null) {
+            transactionDeltas = new TransactionDeltas();
+            TransactionSynchronizationManager.registerSynchronization(transactionDeltas);
+        }
+        Map<StatKey, Long> merged = transactionDeltas.deltas;
+        deltas.forEach((key, delta) -> merged.merge(key, delta, Long::sum));
+    }
+
+    private void incrementStats(Map<StatKey, Long> deltas) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<StatKey, Long> entry : deltas.entrySet()) {
+            if (entry.getValue() != 0) {
+                rows.add(new Object[] {entry.getKey().dimension(), entry.getKey().statKey(), entry.getValue()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, rows);
+        }
+    }
+
+    private static Map<String, Long> toCountMap(List<BarcodeStatDto> stats) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (BarcodeStatDto stat : stats) {
+            counts.put(stat.getStatKey(), stat.getBarcodeCount());
+        }
+        return counts;
+    }
+
+    private static void addDeltas(Map<StatKey, Long> deltas, BarcodeDto barcode, long delta) {
+        deltas.merge(new StatKey(TOTAL, ""), delta, Long::sum);
+        deltas.merge(new StatKey(TYPE, keyOf(barcode.getBarcodeType())), delta, Long::sum);
+        deltas.merge(new StatKey(STATUS, keyOf(barcode.getStatus())), delta, Long::sum);
+        deltas.merge(new StatKey(PHONE_MODEL, keyOf(barcode.getPhoneModel())), delta, Long::sum);
+        deltas.merge(new StatKey(DAY, dayOf(barcode)), delta, Long::sum);
+    }
+
+    // 쓰기 서비스가 DB 시계로 정해 그대로 저장한 created_date이므로 재집계의 DATE(created_date)와 같은 일자입니다
+    private static String dayOf(BarcodeDto barcode) {
+        return barcode.getCreatedDate() != null ? barcode.getCreatedDate().toLocalDate().toString() : "";
+    }
+
+    private static void addDimensionDelta(Map<StatKey, Long> deltas, String dimension, String before, String after) {
+        if (Objects.equals(keyOf(before), keyOf(after))) {
+            return;
+        }
+        deltas.merge(new StatKey(dimension, keyOf(before)), -1L, Long::sum);
+        deltas.merge(new StatKey(dimension, keyOf(after)), 1L, Long::sum);
+    }
+
+    private static String keyOf(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.BarcodeSyncResult;
+import com.example.barcodeserver.dto.BarcodeTombstone;
+import com.example.barcodeserver.dto.SyncToken;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import com.example.barcodeserver.mapper.BarcodeTombstoneMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 모바일 클라이언트용 변경 동기화 서비스.
+ * 토큰 이후 생성/수정된 행은 modified_date(= COALESCE(updated_date, created_date)) 인덱스로,
+ * 삭제된 행은 barcode_tombstones 테이블로 찾아 증분만 전달합니다.
+ *
+ * <ul>
+ *   <li>커밋이 늦은 행을 건너뛰지 않도록 현재 시각에서 safetyLagSeconds를 뺀 시점(horizon) 이전의 변경만 반환합니다.
+ *       변경이 모두 전달되면 토큰 위치를 horizon으로 옮깁니다.</li>
+ *   <li>horizon과 created_date/updated_date/deleted_date는 모두 DB 시계로 구하므로
+ *       애플리케이션 서버와 DB의 시계 차이나 시간대 설정이 달라도 어긋나지 않습니다.
+ *       created_date/updated_date는 쓰기 직전에 DB에서 받은 시각을 바인딩하므로 API 응답의 시각도 저장된 값과 같습니다.</li>
+ *   <li>기록된 시각은 커밋 시각이 아닙니다. 기록 후 safetyLagSeconds보다 늦게 커밋되는 트랜잭션의 변경은
+ *       이미 horizon을 지난 토큰에 전달되지 않으므로, 쓰기 트랜잭션은 이보다 짧게 유지해야 합니다
+ *       (대량 적재는 청크마다 커밋합니다). 더 긴 트랜잭션이 있으면 safetyLagSeconds를 그만큼 늘립니다.</li>
+ *   <li>삭제 기록은 tombstoneRetentionDays 동안 보관합니다. 그보다 오래된 토큰은 삭제를 놓쳤을 수 있으므로 재동기화가 필요합니다.</li>
+ * </ul>
+ */
+@Service
+public class BarcodeSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(BarcodeSyncService.class);
+
+    // 초기 동기화 시작 위치 (모든 행 포함)
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final int PURGE_BATCH_SIZE = 5000;
+
+    @Autowired
+    private BarcodeMapper barcodeMapper;
+
+    @Autowired
+    private BarcodeTombstoneMapper tombstoneMapper;
+
+    @Value("${app.sync.safetyLagSeconds:5}")
+    private long safetyLagSeconds;
+
+    @Value("${app.sync.tombstoneRetentionDays:30}")
+    private long tombstoneRetentionDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            tombstoneMapper.createTombstoneTableIfNotExists();
+        } catch (Exception e) {
+            log.error("Barcode tombstone table initialization failed", e);
+        }
+    }
+
+    /**
+     * 삭제 직전에 같은 트랜잭션 안에서 호출하여 삭제 기록을 남깁니다.
+     */
+    public void recordDeletionById(Long barcodeId) {
+        tombstoneMapper.insertTombstoneById(barcodeId);
+    }
+
+    public void recordDeletionByValue(String barcodeValue) {
+        tombstoneMapper.insertTombstoneByValue(barcodeValue);
+    }
+
+    public void recordDeletionByIds(Collection<Long> barcodeIds) {
+        tombstoneMapper.insertTombstonesByIds(barcodeIds);
+    }
+
+    /**
+     * 토큰이 보관 기간보다 오래되어 삭제 기록을 놓쳤을 수 있으면 true입니다. 클라이언트는 전체를 다시 받아야 합니다.
+     */
+    public boolean isResyncRequired(SyncToken token) {
+        return token != null && token.getDeletedDate().isBefore(LocalDateTime.now().minusDays(tombstoneRetentionDays));
+    }
+
+    /**
+     * token 이후의 변경을 최대 limit건씩 반환합니다. token이 null이면 전체 행을 처음부터 전달하는 초기 동기화입니다.
+     * 복제본에서 읽으면 복제 지연만큼 horizon 이전 변경을 놓칠 수 있으므로 primary에서 읽습니다 (readOnly 아님).
+     */
+    @Transactional
+    public BarcodeSyncResult getChanges(SyncToken token, int limit) {
+        LocalDateTime horizon = tombstoneMapper.selectSyncHorizon(safetyLagSeconds);
+        LocalDateTime modifiedAfter = token != null ? token.getModifiedDate() : EPOCH;
+        long barcodeIdAfter = token != null ? token.getBarcodeId() : 0;
+        // 초기 동기화는 현재 행 전체를 받으므로 과거 삭제 기록은 필요 없습니다
+        LocalDateTime deletedAfter = token != null ? token.getDeletedDate() : horizon;
+        long tombstoneIdAfter = token != null ? token.getTombstoneId() : 0;
+
+        BarcodeSyncResult result = new BarcodeSyncResult();
+
+        List<BarcodeDto> upserts = barcodeMapper.selectBarcodesModifiedAfter(modifiedAfter, barcodeIdAfter, horizon, limit + 1);
+        boolean moreUpserts = upserts.size() > limit;
+        if (moreUpserts) {
+            upserts = upserts.subList(0, limit);
+            BarcodeDto last = upserts.get(upserts.size() - 1);
+            modifiedAfter = last.getUpdatedDate() != null ? last.getUpdatedDate() : last.getCreatedDate();
+            barcodeIdAfter = last.getBarcodeId();
+        } else {
+            modifiedAfter = horizon;
+            barcodeIdAfter = 0;
+        }
+
+        List<BarcodeTombstone> deletes = tombstoneMapper.selectTombstonesAfter(deletedAfter, tombstoneIdAfter, horizon, limit + 1);
+        boolean moreDeletes = deletes.size() > limit;
+        if (moreDeletes) {
+            deletes = deletes.subList(0, limit);
+            BarcodeTombstone last = deletes.get(deletes.size() - 1);
+            deletedAfter = last.getDeletedDate();
+            tombstoneIdAfter = last.getTombstoneId();
+        } else {
+            deletedAfter = horizon;
+            tombstoneIdAfter = 0;
+        }
+
+        result.setUpserts(upserts);
+        result.setDeletes(deletes);
+        result.setHasMore(moreUpserts || moreDeletes);
+        result.setNextToken(new SyncToken(modifiedAfter, barcodeIdAfter, deletedAfter, tombstoneIdAfter).encode());
+        return result;
+    }
+
+    /**
+     * 보관 기간이 지난 삭제 기록을 나눠서 지웁니다.
+     */
+    @Scheduled(cron = "${app.sync.purgeCron:0 0 4 * * *}")
+    public void purgeExpiredTombstones() {
+        LocalDateTime before = LocalDateTime.now().minusDays(tombstoneRetentionDays);
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = tombstoneMapper.purgeTombstonesBefore(before, PURGE_BATCH_SIZE);
+            purged += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        if (purged > 0) {
+            log.info("Purged {} barcode tombstones older than {}", purged, before);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeUploadJob;
+import com.example.barcodeserver.exception.PayloadTooLargeException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * 비동기 대량 업로드 작업 서비스 (POST /api/barcodes/jobs).
+ * 요청 스레드는 본문을 임시 파일로 받아 두기만 하고 즉시 202로 응답하며, 제한된 크기의 작업 풀이
+ * BulkIngestService로 청크 단위 적재를 수행합니다. 요청 스레드와 커넥션은 DB 처리 시간 동안 붙잡히지 않습니다.
+ * 작업 상태는 이 인스턴스의 메모리에만 있으므로 재시작하면 사라지고, 다른 인스턴스에서는 조회되지 않습니다.
+ * 종료 시 아직 시작하지 않은 작업은 실패로 표시하고 임시 파일을 지웁니다.
+ */
+@Service
+public class BarcodeUploadJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(BarcodeUploadJobService.class);
+
+    @Autowired
+    private BulkIngestService bulkIngestService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jobs.workers:2}")
+    private int workers;
+
+    @Value("${app.jobs.queueCapacity:20}")
+    private int queueCapacity;
+
+    @Value("${app.jobs.maxPayloadBytes:209715200}")
+    private long maxPayloadBytes;
+
+    @Value("${app.jobs.retentionMinutes:60}")
+    private long retentionMinutes;
+
+    @Value("${app.jobs.spoolDir:${java.io.tmpdir}}")
+    private String spoolDir;
+
+    private final Map<String, BarcodeUploadJob> jobs = new ConcurrentHashMap<>();
+    // 키를 먼저 차지한 접수의 결과. 실패한 접수는 null로 완료되고 키를 놓습니다
+    private final Map<String, CompletableFuture<BarcodeUploadJob>> idempotencyKeys = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    /**
+     * 접수 결과. duplicate는 같은 Idempotency-Key로 이미 접수된 작업을 돌려준 경우입니다.
+     */
+    public record Submission(BarcodeUploadJob job, boolean duplicate) {}
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "barcode-upload-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("barcode.upload.jobs.queued", executor, pool -> pool.getQueue().size())
+                .description("Upload jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("barcode.upload.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Upload jobs being ingested")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 대기 중인 작업은 실패로 표시하고 임시 파일을 지운 뒤, 실행 중인 작업을 중단시키고 잠시 기다립니다.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        for (Runnable pending : executor.shutdownNow()) {
+            if (pending instanceof UploadTask task) {
+                task.job.fail("Server shut down before the job started");
+                deleteSpool(task.spool);
+            }
+        }
+        if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Upload jobs still running at shutdown; their spool files may remain in {}", spoolDir);
+        }
+    }
+
+    /**
+     * 본문을 임시 파일로 받아 작업으로 등록합니다.
+     * 대기열이 가득 차면 본문을 읽기 전에 RejectedExecutionException을 던지고,
+     * 본문이 maxPayloadBytes를 넘으면 PayloadTooLargeException을 던집니다.
+     * 같은 Idempotency-Key의 접수가 진행 중이면 그 결과를 기다려, 성공했으면 그 작업을 돌려주고
+     * 실패했으면 이 요청이 새로 접수합니다. 따라서 중복 요청이 접수되지 않은 작업을 받는 일이 없습니다.
+     */
+    public Submission submit(InputStream body, boolean upsert, String idempotencyKey) throws IOException {
+        CompletableFuture<BarcodeUploadJob> claim = null;
+        if (idempotencyKey != null) {
+            claim = new CompletableFuture<>();
+            CompletableFuture<BarcodeUploadJob> existing;
+            while ((existing = idempotencyKeys.putIfAbsent(idempotencyKey, claim)) != null) {
+                BarcodeUploadJob accepted = existing.join();
+                if (accepted != null) {
+                    return new Submission(accepted, true);
+                }
+                // 앞선 접수가 실패하여 키를 놓았으므로 다시 차지를 시도합니다
+                idempotencyKeys.remove(idempotencyKey, existing);
+            }
+        }
+        try {
+            BarcodeUploadJob job = accept(body, upsert);
+            if (claim != null) {
+                claim.complete(job);
+            }
+            return new Submission(job, false);
+        } catch (IOException | RuntimeException e) {
+            if (claim != null) {
+                idempotencyKeys.remove(idempotencyKey, claim);
+                claim.complete(null);
+            }
+            throw e;
+        }
+    }
+
+    private BarcodeUploadJob accept(InputStream body, boolean upsert) throws IOException {
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Upload job queue is full");
+        }
+        BarcodeUploadJob job = new BarcodeUploadJob(UUID.randomUUID().toString(), upsert ? "upsert" : "insert");
+        Path spool = null;
+        try {
+            spool = Files.createTempFile(Paths.get(spoolDir), "barcode-upload-", ".json");
+            job.setPayloadBytes(copyLimited(body, spool));
+            jobs.put(job.getJobId(), job);
+            executor.execute(new UploadTask(job, spool, upsert));
+            return job;
+        } catch (IOException | RuntimeException e) {
+            jobs.remove(job.getJobId(), job);
+            deleteSpool(spool);
+            throw e;
+        }
+    }
+
+    public BarcodeUploadJob getJob(String jobId) {
+        return jobs.get(jobId);
+    }
+
+    /**
+     * 보관 기간이 지난 완료 작업 정리
+     */
+    @Scheduled(fixedDelayString = "${app.jobs.cleanupIntervalMs:60000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        Predicate<BarcodeUploadJob> expired = job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff);
+        jobs.values().removeIf(expired);
+        idempotencyKeys.values().removeIf(claim -> {
+            BarcodeUploadJob job = claim.getNow(null);
+            return job != null && expired.test(job);
+        });
+    }
+
+    /**
+     * 대기열의 작업. 종료 시 shutdownNow가 돌려준 작업의 임시 파일을 지울 수 있도록 람다 대신 클래스로 둡니다.
+     */
+    private final class UploadTask implements Runnable {
+
+        private final BarcodeUploadJob job;
+        private final Path spool;
+        private final boolean upsert;
+
+        private UploadTask(BarcodeUploadJob job, Path spool, boolean upsert) {
+            this.job = job;
+            this.spool = spool;
+            this.upsert = upsert;
+        }
+
+        @Override
+        public void run() {
+            job.start();
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(spool))) {
+                job.finish(bulkIngestService.ingest(in, upsert, job::update));
+                log.info("Upload job {} {}: {} rows inserted, {} failed in {}ms",
+                        job.getJobId(), job.getState(), job.getInsertedRows(), job.getFailedRows(), job.getElapsedMs());
+            } catch (Exception e) {
+                log.error("Upload job {} failed", job.getJobId(), e);
+                job.fail(e.getMessage());
+            } finally {
+                deleteSpool(spool);
+            }
+        }
+    }
+
+    private long copyLimited(InputStream body, Path target) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                total += read;
+                if (total > maxPayloadBytes) {
+                    throw new PayloadTooLargeException("Upload exceeds " + maxPayloadBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return total;
+    }
+
+    private static void deleteSpool(Path spool) {
+        if (spool == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload spool file {}", spool, e);
+        }
+    }
+}
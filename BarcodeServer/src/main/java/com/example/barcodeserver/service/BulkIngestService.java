@@ -0,0 +1,279 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.BulkIngestResult;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * 대량 바코드 적재 서비스.
+ * JSON 배열 또는 NDJSON 본문을 스트리밍으로 한 건씩 파싱하고, chunkSize 단위로 JDBC 배치 INSERT 후 청크마다 커밋합니다.
+ * 전체 페이로드를 메모리에 올리지 않으므로 입력 크기에 제한이 없습니다.
+ */
+@Service
+public class BulkIngestService {
+
+    private static final String[] WRITE_EVICTED_CACHES = {"barcodesCount", "barcodesByType", "barcodesCountByType"};
+
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+
+    @Autowired
+    private BarcodeMapper barcodeMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BarcodeExistenceIndex existenceIndex;
+
+    @Autowired
+    private BarcodeStatsService statsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.bulk.chunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${app.bulk.maxRowErrors:100}")
+    private int maxRowErrors;
+
+    private SqlSessionTemplate batchSqlSessionTemplate;
+    private BarcodeMapper batchMapper;
+    private TransactionTemplate transactionTemplate;
+    private final Map<String, DistributionSummary> batchSizeSummaries = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        // 기본 매퍼(SIMPLE 실행기)와 섞이지 않도록 빈으로 등록하지 않고 이 서비스 안에서만 사용합니다
+        this.batchSqlSessionTemplate = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.batchMapper = batchSqlSessionTemplate.getMapper(BarcodeMapper.class);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 입력 스트림의 바코드를 청크 단위로 적재합니다.
+     * 검증에 실패하거나 필드 타입이 맞지 않는 행은 건너뛰고 rowErrors에 기록하며,
+     * JSON 문법이 깨진 입력이나 스트림 오류를 만나면 그 전까지 읽은 행만 적재하고 중단합니다.
+     * upsert가 true면 이미 저장된 값은 건너뛰므로 같은 요청을 재시도해도 중복이 생기지 않습니다.
+     */
+    public BulkIngestResult ingest(InputStream in, boolean upsert) {
+        return ingest(in, upsert, result -> {});
+    }
+
+    /**
+     * progress는 청크를 저장할 때마다 적재 스레드에서 호출되며, 그때까지 읽은 행 수(totalRows)와 누적 결과를 전달합니다.
+     */
+    public BulkIngestResult ingest(InputStream in, boolean upsert, Consumer<BulkIngestResult> progress) {
+        long startTime = System.nanoTime();
+        BulkIngestResult result = new BulkIngestResult();
+        List<BarcodeDto> chunk = new ArrayList<>(chunkSize);
+        long row = 0;
+        long chunkFirstRow = 0;
+
+        try (MappingIterator<BarcodeDto> iterator = objectMapper.readerFor(BarcodeDto.class).readValues(in)) {
+            while (iterator.hasNextValue()) {
+                long currentRow = row;
+                BarcodeDto barcode;
+                try {
+                    barcode = iterator.nextValue();
+                    row++;
+                } catch (JsonMappingException e) {
+                    // 문법은 맞지만 값을 BarcodeDto로 바인딩할 수 없는 행: 반복자가 다음 행 시작으로 건너뛰므로 계속 읽습니다
+                    row++;
+                    recordRowError(result, currentRow, null, "Invalid field value: " + e.getOriginalMessage());
+                    result.setFailedRows(result.getFailedRows() + 1);
+                    continue;
+                }
+
+                String violation = validate(barcode);
+                if (violation != null) {
+                    recordRowError(result, currentRow, barcode != null ? barcode.getBarcodeValue() : null, violation);
+                    result.setFailedRows(result.getFailedRows() + 1);
+                    continue;
+                }
+
+                if (chunk.isEmpty()) {
+                    chunkFirstRow = currentRow;
+                }
+                chunk.add(barcode);
+                if (chunk.size() >= chunkSize) {
+                    flushChunk(result, chunk, chunkFirstRow, upsert);
+                    chunk = new ArrayList<>(chunkSize);
+                    result.setTotalRows(row);
+                    result.setElapsedMs((System.nanoTime() - startTime) / 1_000_000);
+                    progress.accept(result);
+                }
+            }
+        } catch (IOException e) {
+            result.setCompleted(false);
+            result.setMessage("Malformed input at row " + row + ": " + e.getMessage());
+        }
+
+        if (!chunk.isEmpty()) {
+            flushChunk(result, chunk, chunkFirstRow, upsert);
+        }
+
+        result.setTotalRows(row);
+        result.setElapsedMs((System.nanoTime() - startTime) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * 하나의 청크를 하나의 트랜잭션으로 저장하고 실제로 삽입된 행 수를 반환하며, 커밋 후 그만큼 통계에 반영합니다.
+     * insert는 BATCH 실행기로 배치 INSERT합니다. upsert는 INSERT ... ON DUPLICATE KEY UPDATE로 기존 값과 충돌한 행을
+     * 건너뛰며(건별 존재 확인 없음), 재작성된 배치는 행별 건수를 돌려주지 않으므로 통계 키가 같은 행끼리
+     * 다중 VALUES 한 문으로 저장하여 문마다 영향받은 행 수로 삽입 건수를 구합니다.
+     */
+    public int insertChunk(List<BarcodeDto> chunk, boolean upsert) {
+        LocalDateTime now = barcodeMapper.selectDatabaseTime(0);
+        for (BarcodeDto barcode : chunk) {
+            barcode.setCreatedDate(now);
+            if (barcode.getStatus() == null) {
+                barcode.setStatus("ACTIVE");
+            }
+            existenceIndex.add(barcode.getBarcodeValue());
+        }
+
+        Integer inserted = transactionTemplate.execute(status -> {
+            if (upsert) {
+                int upserted = 0;
+                for (List<BarcodeDto> group : BarcodeStatsService.groupByStatKeys(chunk)) {
+                    int groupInserted = barcodeMapper.upsertBarcodes(group);
+                    statsService.recordInsert(group.get(0), groupInserted);
+                    upserted += groupInserted;
+                }
+                return upserted;
+            }
+            for (BarcodeDto barcode : chunk) {
+                batchMapper.insertBarcodeForBatch(barcode);
+            }
+            int affected = countAffectedRows(batchSqlSessionTemplate.flushStatements(), chunk.size());
+            statsService.recordInsert(chunk);
+            return affected;
+        });
+        evictWriteCaches(chunk);
+        return inserted != null ? inserted : 0;
+    }
+
+    private void flushChunk(BulkIngestResult result, List<BarcodeDto> chunk, long firstRow, boolean upsert) {
+        BulkIngestResult.ChunkResult chunkResult =
+                new BulkIngestResult.ChunkResult(result.getChunks().size(), firstRow, chunk.size());
+        long chunkStart = System.nanoTime();
+        batchSizeSummaries.computeIfAbsent("bulk", source -> DistributionSummary.builder("barcode.ingest.batch.size")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(chunk.size());
+        try {
+            int inserted = insertChunk(chunk, upsert);
+            chunkResult.setInserted(inserted);
+            result.setInsertedRows(result.getInsertedRows() + inserted);
+        } catch (Exception e) {
+            chunkResult.setError(e.getMessage());
+            result.setFailedRows(result.getFailedRows() + chunk.size());
+        }
+        chunkResult.setElapsedMs((System.nanoTime() - chunkStart) / 1_000_000);
+        result.getChunks().add(chunkResult);
+    }
+
+    private String validate(BarcodeDto barcode) {
+        if (barcode == null) {
+            return "Row is null";
+        }
+        Set<ConstraintViolation<BarcodeDto>> violations = validator.validate(barcode);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining(", "));
+    }
+
+    private void recordRowError(BulkIngestResult result, long row, String barcodeValue, String reason) {
+        if (result.getRowErrors().size() < maxRowErrors) {
+            result.getRowErrors().add(new BulkIngestResult.RowError(row, barcodeValue, reason));
+        }
+    }
+
+    /**
+     * 배치 INSERT(중복 시 청크 전체 실패)의 삽입 건수.
+     * rewriteBatchedStatements 사용 시 드라이버가 행별 건수 대신 SUCCESS_NO_INFO를 돌려줄 수 있어 이를 1건으로 계산합니다.
+     * 재작성된 다중 VALUES 문의 합계가 중복 집계되지 않도록 청크 크기를 상한으로 둡니다.
+     * 행별로 삽입/건너뜀을 구분할 수 없으므로 멱등 INSERT(upsert)에는 사용하지 않습니다.
+     */
+    private static int countAffectedRows(List<BatchResult> batchResults, int fallback) {
+        if (batchResults.isEmpty()) {
+            return fallback;
+        }
+        int affected = 0;
+        for (BatchResult batchResult : batchResults) {
+            for (int count : batchResult.getUpdateCounts()) {
+                if (count > 0) {
+                    affected += count;
+                } else if (count == Statement.SUCCESS_NO_INFO) {
+                    affected++;
+                }
+            }
+        }
+        return Math.min(affected, fallback);
+    }
+
+    /**
+     * 집계/목록 캐시는 비우고, 값 조회 캐시는 적재한 값만 제거합니다 (이전에 캐시된 "없음" 결과 무효화).
+     */
+    private void evictWriteCaches(List<BarcodeDto> chunk) {
+        for (String name : WRITE_EVICTED_CACHES) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        Cache byValue = cacheManager.getCache("barcodeByValue");
+        if (byValue != null) {
+            for (BarcodeDto barcode : chunk) {
+                byValue.evict(barcode.getBarcodeValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 비동기(write-behind) 바코드 적재 서비스.
+ * 스캔은 제한된 크기의 메모리 큐에 들어가는 즉시 응답하고, 백그라운드 writer가 batchSize건 또는
+ * flushIntervalMs마다 모아서 한 번의 배치 INSERT/커밋(group commit)으로 저장합니다.
+ * 큐가 가득 차면 enqueue가 false를 반환하며 컨트롤러는 429로 응답합니다.
+ * 이미 202로 응답한 바코드이므로 저장이 실패한 그룹(교착 상태, 잠금 대기 시간 초과, 장애 조치 등)은 버리지 않고
+ * maxRetries번까지 간격을 늘려가며 다시 저장합니다. 저장은 멱등 INSERT이므로 재시도해도 중복 행이 생기지 않습니다.
+ * 재시도를 모두 실패한 그룹과 종료 시 shutdownTimeoutSeconds 안에 기록하지 못한 바코드는 recoveryDir의 NDJSON 파일로 남기며,
+ * 이 파일은 POST /api/barcodes/bulk?mode=upsert로 다시 적재할 수 있습니다.
+ */
+@Service
+public class WriteBehindIngestService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindIngestService.class);
+
+    private static final long MAX_RETRY_BACKOFF_MS = 5000;
+
+    @Autowired
+    private BulkIngestService bulkIngestService;
+
+    @Autowired
+    private BarcodeMapper barcodeMapper;
+
+    @Autowired
+    private BarcodeExistenceIndex existenceIndex;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.ingest.async.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ingest.async.queueCapacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.ingest.async.batchSize:500}")
+    private int batchSize;
+
+    @Value("${app.ingest.async.flushIntervalMs:50}")
+    private long flushIntervalMs;
+
+    @Value("${app.ingest.async.maxRetries:5}")
+    private int maxRetries;
+
+    @Value("${app.ingest.async.retryBackoffMs:200}")
+    private long retryBackoffMs;
+
+    @Value("${app.ingest.async.shutdownTimeoutSeconds:30}")
+    private long shutdownTimeoutSeconds;
+
+    @Value("${app.ingest.async.recoveryDir:${java.io.tmpdir}}")
+    private String recoveryDir;
+
+    private BlockingQueue<BarcodeDto> queue;
+    private Thread writerThread;
+    private volatile boolean running;
+
+    // enqueue는 읽기 잠금, stop은 쓰기 잠금: stop이 running을 내린 뒤에는 큐에 들어오는 바코드가 없음을 보장합니다
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong duplicateCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong commitCount = new AtomicLong();
+    private final AtomicLong spillSequence = new AtomicLong();
+    private final Map<String, DistributionSummary> batchSizeSummaries = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 바코드를 큐에 넣습니다. 큐가 가득 찼으면 false를 반환합니다.
+     */
+    public boolean enqueue(BarcodeDto barcodeDto) {
+        if (barcodeDto.getStatus() == null) {
+            barcodeDto.setStatus("ACTIVE");
+        }
+        shutdownLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Async ingest is not running");
+            }
+            if (queue.offer(barcodeDto)) {
+                acceptedCount.incrementAndGet();
+                return true;
+            }
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+        rejectedCount.incrementAndGet();
+        return false;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("running", running);
+        stats.put("queueDepth", queue != null ? queue.size() : 0);
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("accepted", acceptedCount.get());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("written", writtenCount.get());
+        stats.put("duplicates", duplicateCount.get());
+        stats.put("retries", retryCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("commits", commitCount.get());
+        return stats;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        writerThread = new Thread(this::runWriter, "barcode-write-behind");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * 종료 시 새 요청을 막고, 큐에 남은 바코드를 모두 기록한 뒤 writer를 멈춥니다.
+     * shutdownTimeoutSeconds 안에 끝나지 않으면 writer를 중단하고 남은 바코드를 복구 파일로 남깁니다.
+     */
+    @Override
+    public void stop() {
+        shutdownLock.writeLock().lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds));
+            if (writerThread.isAlive()) {
+                // 모으던 그룹은 큐로 돌려놓고 종료하도록 깨웁니다 (DB 호출 중이면 그 그룹은 writer가 마저 처리)
+                writerThread.interrupt();
+                writerThread.join(TimeUnit.SECONDS.toMillis(1));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<BarcodeDto> unsaved = new ArrayList<>();
+        queue.drainTo(unsaved);
+        if (!unsaved.isEmpty()) {
+            spillUnsaved(unsaved, "Write-behind stopped");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버보다 먼저 시작하고 나중에 멈추도록 하여, 처리 중인 요청이 모두 큐에 들어간 뒤 남은 큐를 비웁니다.
+     * 웹 서버 외의 경로로 stop과 enqueue가 겹쳐도 shutdownLock으로 stop 이후의 적재는 503으로 거절됩니다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void runWriter() {
+        List<BarcodeDto> group = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collectGroup(group);
+                if (!group.isEmpty()) {
+                    writeGroupWithRetry(group);
+                    group.clear();
+                }
+            } catch (InterruptedException e) {
+                // stop이 제한 시간 후 중단한 경우: 아직 저장하지 않은 그룹은 큐로 돌려 복구 파일에 포함되도록 합니다
+                group.forEach(queue::offer);
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    /**
+     * 실패하면 retryBackoffMs부터 두 배씩(최대 5초) 기다렸다가 같은 그룹을 다시 저장합니다.
+     * 재시도하는 동안 writer가 멈추므로 큐가 차면 새 요청은 429로 거절됩니다(배압).
+     * maxRetries번 모두 실패하면 그룹을 복구 파일로 남깁니다.
+     */
+    private void writeGroupWithRetry(List<BarcodeDto> group) throws InterruptedException {
+        long backoffMs = retryBackoffMs;
+        for (int attempt = 0; ; attempt++) {
+            try {
+                writeGroup(group);
+                return;
+            } catch (Exception e) {
+                if (attempt >= maxRetries) {
+                    log.error("Write-behind group commit failed after {} retries", maxRetries, e);
+                    spillUnsaved(group, "Write-behind group commit failed");
+                    return;
+                }
+                log.warn("Write-behind group commit failed ({} barcodes), retrying in {} ms ({}/{})",
+                        group.size(), backoffMs, attempt + 1, maxRetries, e);
+                retryCount.incrementAndGet();
+                Thread.sleep(backoffMs);
+                backoffMs = Math.min(backoffMs * 2, MAX_RETRY_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * 첫 건이 들어온 시점부터 flushIntervalMs가 지나거나 batchSize건이 모일 때까지 기다립니다.
+     */
+    private void collectGroup(List<BarcodeDto> group) throws InterruptedException {
+        BarcodeDto first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        group.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (group.size() < batchSize) {
+            queue.drainTo(group, batchSize - group.size());
+            long remaining = deadline - System.nanoTime();
+            if (group.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            BarcodeDto next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            group.add(next);
+        }
+    }
+
+    /**
+     * 그룹 내 중복과 이미 저장된 값을 한 번의 IN 조회로 걸러낸 뒤 하나의 트랜잭션으로 저장합니다.
+     * 존재 여부 인덱스에서 "확실히 없음"인 값은 IN 조회 대상에서 제외합니다.
+     * 조회와 저장 사이에 다른 요청이 같은 값을 저장해도 그룹 전체가 실패하지 않도록 멱등 INSERT로 저장합니다.
+     * 기존 값 조회는 barcode_value_hash(바이트 단위 SHA-256)로 일치시키므로 열의 정렬 규칙(utf8mb4_unicode_ci)과 무관하게
+     * 입력과 정확히 같은 값만 돌아옵니다(마이그레이션 전의 DB에서는 barcode_value로 비교). 사전 조회는 INSERT 양을 줄이는 최적화이며, 중복 여부는 멱등 INSERT의 결과로 집계합니다.
+     */
+    private void writeGroup(List<BarcodeDto> group) {
+        batchSizeSummaries.computeIfAbsent("write-behind", source -> DistributionSummary.builder("barcode.ingest.batch.size")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry))
+                .record(group.size());
+        Map<String, BarcodeDto> unique = new LinkedHashMap<>();
+        Set<String> candidates = new HashSet<>();
+        for (BarcodeDto barcode : group) {
+            if (unique.putIfAbsent(barcode.getBarcodeValue(), barcode) == null
+                    && existenceIndex.mightContain(barcode.getBarcodeValue())) {
+                candidates.add(barcode.getBarcodeValue());
+            }
+        }
+        if (!candidates.isEmpty()) {
+            barcodeMapper.selectExistingBarcodeValues(candidates).forEach(unique::remove);
+        }
+
+        int written = 0;
+        if (!unique.isEmpty()) {
+            // 통계는 insertChunk가 실제 삽입 건수로 반영합니다
+            written = bulkIngestService.insertChunk(new ArrayList<>(unique.values()), true);
+            writtenCount.addAndGet(written);
+            commitCount.incrementAndGet();
+        }
+        // 사전 조회에서 빠진 값과 멱등 INSERT가 건너뛴 값을 모두 포함합니다
+        duplicateCount.addAndGet(group.size() - written);
+    }
+
+    /**
+     * 기록하지 못한 바코드를 NDJSON 파일로 남깁니다. 파일도 만들 수 없으면 값을 로그에 남깁니다.
+     */
+    private void spillUnsaved(List<BarcodeDto> unsaved, String reason) {
+        failedCount.addAndGet(unsaved.size());
+        // 같은 밀리초에 여러 그룹을 남겨도 덮어쓰지 않도록 일련번호를 붙입니다
+        Path file = Path.of(recoveryDir, "write-behind-unsaved-" + System.currentTimeMillis()
+                + "-" + spillSequence.incrementAndGet() + ".ndjson");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (BarcodeDto barcode : unsaved) {
+                writer.write(objectMapper.writeValueAsString(barcode));
+                writer.newLine();
+            }
+            log.error("{}: {} unsaved barcodes written to {} (re-submit with POST /api/barcodes/bulk?mode=upsert)",
+                    reason, unsaved.size(), file);
+        } catch (IOException e) {
+            log.error("{}: {} unsaved barcodes and could not write {}: {}", reason, unsaved.size(), file,
+                    unsaved.stream().map(BarcodeDto::getBarcodeValue).toList(), e);
+        }
+    }
+}
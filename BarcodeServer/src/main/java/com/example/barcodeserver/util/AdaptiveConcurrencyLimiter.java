@@ -0,0 +1,91 @@
+package com.example.barcodeserver.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 응답 시간 기울기(gradient)로 동시 처리 한도를 조절하는 적응형 동시성 제한기.
+ * 장기 평균 응답 시간(부하가 없을 때의 기준)과 단기 평균을 비교해 단기 평균이 tolerance배 이상 늘어나면
+ * 큐가 쌓이기 시작한 것으로 보고 한도를 줄이고, 그렇지 않으면 sqrt(limit)만큼 늘립니다.
+ * 대기열을 두지 않으므로 한도를 넘은 호출은 tryAcquire가 즉시 false를 반환합니다.
+ * share는 호출 등급별로 현재 한도 중 사용할 수 있는 비율이며, 낮은 등급이 먼저 거절되어 높은 등급의 여유분이 남습니다.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Outcome { SUCCESS, DROPPED, IGNORED }
+
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * 현재 한도 * share 안에 자리가 있으면 하나를 차지하고 true를 반환합니다. 성공하면 반드시 release를 호출해야 합니다.
+     */
+    public boolean tryAcquire(double share) {
+        int allowed = Math.max(1, (int) (limit * share));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 자리를 반환하고 응답 시간을 반영합니다.
+     * DROPPED(과부하로 인한 실패)는 한도를 바로 줄이고, IGNORED(본문 크기에 좌우되는 스트리밍 등)는 표본에서 제외합니다.
+     */
+    public void release(long rttNanos, Outcome outcome) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (outcome == Outcome.IGNORED) {
+            return;
+        }
+        synchronized (this) {
+            if (outcome == Outcome.DROPPED) {
+                limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+                return;
+            }
+            shortRttNanos = shortRttNanos == 0 ? rttNanos : shortRttNanos + (rttNanos - shortRttNanos) / SHORT_WINDOW;
+            longRttNanos = longRttNanos == 0 ? rttNanos : longRttNanos + (rttNanos - longRttNanos) / LONG_WINDOW;
+
+            // 부하가 빠진 뒤에는 장기 평균이 새 기준을 빨리 따라가도록 낮춥니다
+            if (longRttNanos / shortRttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+            // 한도의 절반도 쓰지 않을 때는 응답 시간이 한도와 무관하므로 늘리지 않습니다
+            if (inFlightAtRelease < limit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / shortRttNanos));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+            limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        }
+    }
+
+    public int getLimit() { return (int) limit; }
+
+    public int getInFlight() { return inFlight.get(); }
+}
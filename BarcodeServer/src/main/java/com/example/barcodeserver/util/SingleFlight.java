@@ -0,0 +1,68 @@
+package com.example.barcodeserver.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키에 대한 동시 호출을 하나로 합치는 single-flight 실행기.
+ * 먼저 들어온 호출(leader)만 loader를 실행하고, 실행 중에 들어온 같은 키의 호출은 그 결과(예외 포함)를 함께 받습니다.
+ * 결과를 보관하지 않으므로 실행이 끝난 뒤의 호출은 다시 loader를 실행합니다 (캐시는 호출하는 쪽의 몫입니다).
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder sharedCalls = new LongAdder();
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            sharedCalls.increment();
+            return await(existing);
+        }
+
+        executions.increment();
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /** loader를 실제로 실행한 횟수 */
+    public long getExecutions() {
+        return executions.sum();
+    }
+
+    /** 실행 중인 호출의 결과를 함께 받아 loader 실행을 생략한 횟수 */
+    public long getSharedCalls() {
+        return sharedCalls.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.size();
+    }
+}
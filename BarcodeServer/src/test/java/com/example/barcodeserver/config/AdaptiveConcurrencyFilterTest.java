@@ -0,0 +1,138 @@
+package com.example.barcodeserver.config;
+
+import com.example.barcodeserver.util.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyFilterTest {
+
+    private AdaptiveConcurrencyFilter filter;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AdaptiveConcurrencyFilter();
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "initialLimit", 30);
+        ReflectionTestUtils.setField(filter, "minLimit", 5);
+        ReflectionTestUtils.setField(filter, "maxLimit", 200);
+        ReflectionTestUtils.setField(filter, "tolerance", 1.5);
+        ReflectionTestUtils.setField(filter, "smoothing", 0.2);
+        ReflectionTestUtils.setField(filter, "writeShare", 1.0);
+        ReflectionTestUtils.setField(filter, "readShare", 0.8);
+        ReflectionTestUtils.setField(filter, "adminShare", 0.2);
+        ReflectionTestUtils.setField(filter, "clientShare", 0.3);
+        ReflectionTestUtils.setField(filter, "clientMinPermits", 2);
+        ReflectionTestUtils.setField(filter, "retryAfterSeconds", 1);
+        filter.init();
+        limiter = (AdaptiveConcurrencyLimiter) ReflectionTestUtils.getField(filter, "limiter");
+    }
+
+    @Test
+    @DisplayName("애플리케이션이 직접 보낸 503은 한도를 줄이지 않는다")
+    void applicationServiceUnavailableIsNotDropped() throws Exception {
+        FilterChain asyncDisabled = (request, response) -> ((MockHttpServletResponse) response).setStatus(503);
+
+        for (int i = 0; i < 10; i++) {
+            filter.doFilter(request("POST", "/api/barcodes/async"), new MockHttpServletResponse(), asyncDisabled);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(30);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("커넥션 대기·쿼리 시간 초과는 예외 처리기가 응답으로 바꿔도 과부하로 기록한다")
+    void handledTimeoutIsDropped() throws Exception {
+        FilterChain queryTimeout = (request, response) -> {
+            request.setAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE, new QueryTimeoutException("timeout"));
+            ((MockHttpServletResponse) response).setStatus(500);
+        };
+
+        filter.doFilter(request("GET", "/api/barcodes"), new MockHttpServletResponse(), queryTimeout);
+
+        assertThat(limiter.getLimit()).isEqualTo(27);
+    }
+
+    @Test
+    @DisplayName("필터까지 올라온 커넥션 대기 시간 초과도 과부하로 기록하고 자리를 반환한다")
+    void escapedConnectionTimeoutIsDropped() {
+        FilterChain exhausted = (request, response) -> {
+            throw new CannotGetJdbcConnectionException("JDBC concurrency limit reached");
+        };
+
+        assertThatThrownBy(() -> filter.doFilter(request("GET", "/api/barcodes"), new MockHttpServletResponse(), exhausted))
+                .isInstanceOf(CannotGetJdbcConnectionException.class);
+
+        assertThat(limiter.getLimit()).isEqualTo(27);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("본문 크기에 좌우되는 업로드와 비동기 응답은 표본에서 제외한다")
+    void payloadBoundAndAsyncAreIgnored() {
+        MockHttpServletRequest upload = request("POST", "/api/barcodes/bulk");
+        MockHttpServletRequest export = request("GET", "/api/barcodes/export");
+
+        assertThat(AdaptiveConcurrencyFilter.outcome(upload, null, false))
+                .isEqualTo(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertThat(AdaptiveConcurrencyFilter.outcome(export, null, true))
+                .isEqualTo(AdaptiveConcurrencyLimiter.Outcome.IGNORED);
+        assertThat(AdaptiveConcurrencyFilter.outcome(export, new AsyncRequestTimeoutException(), true))
+                .isEqualTo(AdaptiveConcurrencyLimiter.Outcome.DROPPED);
+        assertThat(AdaptiveConcurrencyFilter.outcome(request("GET", "/api/barcodes"), null, false))
+                .isEqualTo(AdaptiveConcurrencyLimiter.Outcome.SUCCESS);
+    }
+
+    @Test
+    @DisplayName("비동기 요청은 완료될 때까지 자리를 유지한다")
+    void asyncRequestHoldsPermitUntilComplete() throws Exception {
+        MockHttpServletRequest request = request("GET", "/api/barcodes/export");
+        request.setAsyncSupported(true);
+        FilterChain streaming = (req, res) -> req.startAsync();
+
+        filter.doFilter(request, new MockHttpServletResponse(), streaming);
+
+        assertThat(limiter.getInFlight()).isEqualTo(1);
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+        assertThat(limiter.getInFlight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("X-Client-Id가 없으면 같은 모델이라도 접속 주소가 다르면 다른 클라이언트로 본다")
+    void phoneModelIsOnlyAWeakFallback() {
+        MockHttpServletRequest first = request("POST", "/api/barcodes/batch");
+        first.addHeader("X-Phone-Model", "samsung SM-S918N");
+        first.setRemoteAddr("10.0.0.1");
+        MockHttpServletRequest second = request("POST", "/api/barcodes/batch");
+        second.addHeader("X-Phone-Model", "samsung SM-S918N");
+        second.setRemoteAddr("10.0.0.2");
+        MockHttpServletRequest withClientId = request("POST", "/api/barcodes/batch");
+        withClientId.addHeader("X-Client-Id", "3f9a1c");
+        withClientId.addHeader("X-Phone-Model", "samsung SM-S918N");
+
+        assertThat(AdaptiveConcurrencyFilter.clientKey(first)).isNotEqualTo(AdaptiveConcurrencyFilter.clientKey(second));
+        assertThat(AdaptiveConcurrencyFilter.clientKey(withClientId)).isEqualTo("client:3f9a1c");
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.barcodeserver.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BarcodeCursorTest {
+
+    @Test
+    @DisplayName("인코딩한 커서를 그대로 복원한다")
+    void roundTrip() {
+        LocalDateTime createdDate = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+
+        BarcodeCursor decoded = BarcodeCursor.decode(new BarcodeCursor(createdDate, 42L).encode());
+
+        assertThat(decoded.getCreatedDate()).isEqualTo(createdDate);
+        assertThat(decoded.getBarcodeId()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("토큰은 패딩 없는 URL-safe 문자열이다")
+    void tokenIsUrlSafe() {
+        String token = new BarcodeCursor(LocalDateTime.of(2024, 12, 31, 23, 59, 59, 999_000_000), Long.MAX_VALUE).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    @DisplayName("created_date가 없는 행은 id 전용 커서가 된다")
+    void nullCreatedDateFallsBackToIdOnly() {
+        BarcodeDto barcode = new BarcodeDto();
+        barcode.setBarcodeId(7L);
+        barcode.setCreatedDate(null);
+
+        BarcodeCursor decoded = BarcodeCursor.decode(BarcodeCursor.of(barcode).encode());
+
+        assertThat(decoded.getCreatedDate()).isNull();
+        assertThat(decoded.getBarcodeId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("잘못된 토큰은 IllegalArgumentException")
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> BarcodeCursor.decode("!!!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BarcodeCursor.decode(encodeRaw("2024-01-01T00:00"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BarcodeCursor.decode(encodeRaw("not-a-date|1"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BarcodeCursor.decode(encodeRaw("2024-01-01T00:00|abc"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
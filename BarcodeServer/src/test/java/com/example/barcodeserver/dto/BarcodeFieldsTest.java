@@ -0,0 +1,32 @@
+package com.example.barcodeserver.dto;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BarcodeFieldsTest {
+
+    @Test
+    @DisplayName("허용 목록에 없는 열 이름으로는 만들 수 없다")
+    void rejectsUnknownColumn() {
+        assertThatThrownBy(() -> new BarcodeFields(List.of("barcode_id", "1; DROP TABLE barcodes")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("넘긴 목록을 나중에 바꿔도 선택된 열은 변하지 않는다")
+    void copiesColumns() {
+        List<String> columns = new ArrayList<>(List.of("barcode_id", "status"));
+        BarcodeFields fields = new BarcodeFields(columns);
+
+        columns.add("barcode_value");
+
+        assertThat(fields.columns()).containsExactly("barcode_id", "status");
+        assertThat(BarcodeFields.parse("status,barcodeId").key()).isEqualTo("barcode_id,status");
+    }
+}
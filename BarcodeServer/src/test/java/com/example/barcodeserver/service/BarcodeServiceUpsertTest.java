@@ -0,0 +1,110 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import com.example.barcodeserver.mapper.BarcodeStatsMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BarcodeServiceUpsertTest {
+
+    private BarcodeService barcodeService;
+    private BarcodeMapper barcodeMapper;
+    private BarcodeStatsService statsService;
+    // barcode_stats 대신 "dimension:stat_key" -> 건수
+    private final Map<String, Long> stats = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        BarcodeStatsMapper statsMapper = mock(BarcodeStatsMapper.class);
+        when(statsMapper.selectStatCount(anyString(), anyString())).thenAnswer(invocation ->
+                stats.getOrDefault(invocation.getArgument(0) + ":" + invocation.getArgument(1), 0L));
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            rows.forEach(row -> stats.merge(row[0] + ":" + row[1], (Long) row[2], Long::sum));
+            return new int[rows.size()];
+        });
+        statsService = new BarcodeStatsService();
+        ReflectionTestUtils.setField(statsService, "statsMapper", statsMapper);
+        ReflectionTestUtils.setField(statsService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(statsService, "enabled", true);
+        ReflectionTestUtils.setField(statsService, "ready", true);
+
+        barcodeMapper = mock(BarcodeMapper.class);
+        when(barcodeMapper.selectDatabaseTime(0)).thenReturn(LocalDateTime.of(2025, 9, 16, 13, 35, 55));
+        barcodeService = new BarcodeService();
+        ReflectionTestUtils.setField(barcodeService, "barcodeMapper", barcodeMapper);
+        ReflectionTestUtils.setField(barcodeService, "existenceIndex", mock(BarcodeExistenceIndex.class));
+        ReflectionTestUtils.setField(barcodeService, "statsService", statsService);
+        ReflectionTestUtils.setField(barcodeService, "meterRegistry", new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("통계 키별로 한 문씩 저장하고 영향받은 행 수만큼만 삽입으로 집계한다")
+    void countsOnlyAffectedRows() {
+        BarcodeDto existingQr = barcode("QR-1", "QR", "iPhone");
+        BarcodeDto newQr = barcode("QR-2", "QR", "iPhone");
+        BarcodeDto existingEan = barcode("8801234567890", "EAN13", "iPhone");
+        // 건너뛴 행은 useAffectedRows=true에서 0건으로 돌아옵니다
+        when(barcodeMapper.upsertBarcodes(List.of(existingQr, newQr))).thenReturn(1);
+        when(barcodeMapper.upsertBarcodes(List.of(existingEan))).thenReturn(0);
+
+        int inserted = barcodeService.upsertBarcodes(List.of(existingQr, existingEan, newQr));
+
+        assertThat(inserted).isEqualTo(1);
+        verify(barcodeMapper, times(2)).upsertBarcodes(anyList());
+        assertThat(statsService.getCount(BarcodeStatsService.TOTAL, "")).isEqualTo(1);
+        assertThat(statsService.getCount(BarcodeStatsService.TYPE, "QR")).isEqualTo(1);
+        assertThat(statsService.getCount(BarcodeStatsService.TYPE, "EAN13")).isZero();
+        assertThat(statsService.getCount(BarcodeStatsService.PHONE_MODEL, "iPhone")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("모두 이미 저장된 값이면 통계가 변하지 않는다")
+    void retryOfSameBatchIsNoOp() {
+        when(barcodeMapper.upsertBarcodes(any())).thenReturn(0);
+
+        int inserted = barcodeService.upsertBarcodes(List.of(barcode("A", "QR", null), barcode("B", "UPC", null)));
+
+        assertThat(inserted).isZero();
+        assertThat(statsService.getCount(BarcodeStatsService.TOTAL, "")).isZero();
+    }
+
+    @Test
+    @DisplayName("타입/상태/휴대폰 모델/생성일이 모두 같은 행끼리만 묶는다")
+    void groupsByAllStatDimensions() {
+        BarcodeDto a = barcode("A", "QR", "iPhone");
+        BarcodeDto b = barcode("B", "QR", "iPhone");
+        BarcodeDto c = barcode("C", "QR", "Galaxy");
+        BarcodeDto d = barcode("D", "QR", "iPhone");
+        d.setStatus("INACTIVE");
+
+        assertThat(BarcodeStatsService.groupByStatKeys(List.of(a, b, c, d)))
+                .containsExactly(List.of(a, b), List.of(c), List.of(d));
+    }
+
+    private static BarcodeDto barcode(String value, String type, String phoneModel) {
+        BarcodeDto barcode = new BarcodeDto(value, type);
+        barcode.setPhoneModel(phoneModel);
+        return barcode;
+    }
+}
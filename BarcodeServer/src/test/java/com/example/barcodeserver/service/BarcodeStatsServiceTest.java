@@ -0,0 +1,183 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.BarcodeStatDto;
+import com.example.barcodeserver.mapper.BarcodeStatsMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BarcodeStatsServiceTest {
+
+    private BarcodeStatsService statsService;
+    private BarcodeStatsMapper statsMapper;
+    // batchUpdate 한 번마다 반영된 행 (dimension, stat_key, 증감분)
+    private final List<List<Object[]>> increments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statsMapper = mock(BarcodeStatsMapper.class);
+        when(statsMapper.tryLock(anyString())).thenReturn(1);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            increments.add(List.copyOf(rows));
+            return new int[rows.size()];
+        });
+
+        statsService = new BarcodeStatsService();
+        ReflectionTestUtils.setField(statsService, "statsMapper", statsMapper);
+        ReflectionTestUtils.setField(statsService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(statsService, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(statsService, "enabled", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statsService.shutdown();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 증감분은 커밋 직전에 키 순서대로 한 번에 반영한다")
+    void deltasAreAppliedOnceBeforeCommit() {
+        TransactionTemplate transaction = new TransactionTemplate(new SynchronizingTransactionManager());
+
+        transaction.executeWithoutResult(status -> {
+            statsService.recordInsert(barcode("QR"), 2);
+            statsService.recordInsert(barcode("EAN13"), 1);
+            assertThat(increments).isEmpty();
+        });
+
+        assertThat(increments).singleElement().satisfies(rows -> {
+            assertThat(rows).extracting(row -> row[0] + ":" + row[1] + "=" + row[2]).containsExactly(
+                    "DAY:" + barcode("QR").getCreatedDate().toLocalDate() + "=3",
+                    "PHONE_MODEL:=3",
+                    "STATUS:ACTIVE=3",
+                    "TOTAL:=3",
+                    "TYPE:EAN13=1",
+                    "TYPE:QR=2");
+        });
+    }
+
+    @Test
+    @DisplayName("롤백된 트랜잭션의 증감분은 반영하지 않는다")
+    void rolledBackDeltasAreDropped() {
+        TransactionTemplate transaction = new TransactionTemplate(new SynchronizingTransactionManager());
+
+        transaction.executeWithoutResult(status -> {
+            statsService.recordInsert(barcode("QR"), 2);
+            status.setRollbackOnly();
+        });
+
+        assertThat(increments).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 스냅숏의 통계와 스캔 결과의 차이만 더한다")
+    void reconcileAddsOnlyDrift() {
+        when(statsMapper.selectAllStats()).thenReturn(List.of(
+                new BarcodeStatDto(BarcodeStatsService.TOTAL, "", 5),
+                new BarcodeStatDto(BarcodeStatsService.TYPE, "QR", 5)));
+        when(statsMapper.selectStatsFromBarcodes()).thenReturn(List.of(
+                new BarcodeStatDto(BarcodeStatsService.TOTAL, "", 6),
+                new BarcodeStatDto(BarcodeStatsService.TYPE, "QR", 5),
+                new BarcodeStatDto(BarcodeStatsService.TYPE, "EAN13", 1)));
+
+        statsService.reconcile();
+
+        assertThat(increments).singleElement().satisfies(rows ->
+                assertThat(rows).extracting(row -> row[0] + ":" + row[1] + "=" + row[2])
+                        .containsExactly("TOTAL:=1", "TYPE:EAN13=1"));
+        verify(statsMapper).releaseLock(anyString());
+        assertThat(statsService.isReady()).isTrue();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 재집계 잠금을 잡고 있으면 건너뛴다")
+    void reconcileIsSkippedWithoutLock() {
+        when(statsMapper.tryLock(anyString())).thenReturn(0);
+
+        statsService.reconcile();
+
+        verify(statsMapper, never()).selectStatsFromBarcodes();
+        verify(statsMapper, never()).releaseLock(anyString());
+        assertThat(increments).isEmpty();
+        assertThat(statsService.isReady()).isFalse();
+    }
+
+    @Test
+    @DisplayName("재집계 중에는 중복 재집계 요청을 거절한다")
+    void concurrentReconcileIsRejected() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(statsMapper.selectStatsFromBarcodes()).thenAnswer(invocation -> {
+            scanning.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        assertThat(statsService.reconcileAsync()).isTrue();
+        assertThat(scanning.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(statsService.reconcileAsync()).isFalse();
+
+        release.countDown();
+        awaitReconciled();
+        assertThat(statsService.isReady()).isTrue();
+    }
+
+    private void awaitReconciled() throws InterruptedException {
+        AtomicBoolean reconciling = (AtomicBoolean) ReflectionTestUtils.getField(statsService, "reconciling");
+        for (int i = 0; i < 500 && reconciling.get(); i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static BarcodeDto barcode(String type) {
+        return new BarcodeDto("V-" + type, type);
+    }
+
+    /**
+     * 커밋/롤백 시 트랜잭션 동기화 콜백만 실행하는 트랜잭션 관리자
+     */
+    private static final class SynchronizingTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.BarcodeSyncResult;
+import com.example.barcodeserver.dto.SyncToken;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import com.example.barcodeserver.mapper.BarcodeTombstoneMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BarcodeSyncServiceTest {
+
+    // DB 시계로 구한 horizon (애플리케이션 시계와 무관한 값)
+    private static final LocalDateTime DB_HORIZON = LocalDateTime.of(2030, 1, 2, 3, 4, 5);
+
+    private BarcodeSyncService syncService;
+    private BarcodeMapper barcodeMapper;
+    private BarcodeTombstoneMapper tombstoneMapper;
+
+    @BeforeEach
+    void setUp() {
+        barcodeMapper = mock(BarcodeMapper.class);
+        tombstoneMapper = mock(BarcodeTombstoneMapper.class);
+        when(tombstoneMapper.selectSyncHorizon(5)).thenReturn(DB_HORIZON);
+        when(tombstoneMapper.selectTombstonesAfter(any(), anyLong(), any(), anyInt())).thenReturn(List.of());
+
+        syncService = new BarcodeSyncService();
+        ReflectionTestUtils.setField(syncService, "barcodeMapper", barcodeMapper);
+        ReflectionTestUtils.setField(syncService, "tombstoneMapper", tombstoneMapper);
+        ReflectionTestUtils.setField(syncService, "safetyLagSeconds", 5L);
+        ReflectionTestUtils.setField(syncService, "tombstoneRetentionDays", 30L);
+    }
+
+    @Test
+    @DisplayName("DB 시계로 구한 horizon으로 조회하고, 변경을 모두 전달하면 토큰을 horizon으로 옮긴다")
+    void usesDatabaseHorizon() {
+        when(barcodeMapper.selectBarcodesModifiedAfter(any(), anyLong(), any(), anyInt()))
+                .thenReturn(List.of(barcode(1L, DB_HORIZON.minusMinutes(1))));
+
+        BarcodeSyncResult result = syncService.getChanges(null, 10);
+
+        verify(barcodeMapper).selectBarcodesModifiedAfter(any(), eq(0L), eq(DB_HORIZON), eq(11));
+        verify(tombstoneMapper).selectTombstonesAfter(eq(DB_HORIZON), eq(0L), eq(DB_HORIZON), eq(11));
+        assertThat(result.isHasMore()).isFalse();
+        SyncToken next = SyncToken.decode(result.getNextToken());
+        assertThat(next.getModifiedDate()).isEqualTo(DB_HORIZON);
+        assertThat(next.getBarcodeId()).isZero();
+        assertThat(next.getDeletedDate()).isEqualTo(DB_HORIZON);
+    }
+
+    @Test
+    @DisplayName("limit을 넘으면 마지막으로 전달한 행의 (수정 시각, id)에서 이어간다")
+    void continuesFromLastRowWhenMore() {
+        LocalDateTime created = DB_HORIZON.minusHours(2);
+        LocalDateTime updated = DB_HORIZON.minusHours(1);
+        BarcodeDto first = barcode(1L, created);
+        BarcodeDto second = barcode(2L, created);
+        second.setUpdatedDate(updated);
+        when(barcodeMapper.selectBarcodesModifiedAfter(any(), anyLong(), any(), anyInt()))
+                .thenReturn(List.of(first, second, barcode(3L, DB_HORIZON.minusMinutes(1))));
+
+        BarcodeSyncResult result = syncService.getChanges(null, 2);
+
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getUpserts()).containsExactly(first, second);
+        SyncToken next = SyncToken.decode(result.getNextToken());
+        assertThat(next.getModifiedDate()).isEqualTo(updated);
+        assertThat(next.getBarcodeId()).isEqualTo(2L);
+    }
+
+    private static BarcodeDto barcode(long id, LocalDateTime createdDate) {
+        BarcodeDto barcode = new BarcodeDto("V" + id, "QR");
+        barcode.setBarcodeId(id);
+        barcode.setCreatedDate(createdDate);
+        return barcode;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeUploadJob;
+import com.example.barcodeserver.dto.BulkIngestResult;
+import com.example.barcodeserver.exception.PayloadTooLargeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BarcodeUploadJobServiceTest {
+
+    private BarcodeUploadJobService service;
+    private BulkIngestService bulkIngestService;
+    private Path spoolDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        spoolDir = Files.createTempDirectory("upload-job-test");
+        bulkIngestService = mock(BulkIngestService.class);
+        when(bulkIngestService.ingest(any(), anyBoolean(), any())).thenReturn(new BulkIngestResult());
+
+        service = new BarcodeUploadJobService();
+        ReflectionTestUtils.setField(service, "bulkIngestService", bulkIngestService);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "workers", 1);
+        ReflectionTestUtils.setField(service, "queueCapacity", 10);
+        ReflectionTestUtils.setField(service, "maxPayloadBytes", 1024L);
+        ReflectionTestUtils.setField(service, "retentionMinutes", 60L);
+        ReflectionTestUtils.setField(service, "spoolDir", spoolDir.toString());
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.shutdown();
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            files.forEach(file -> file.toFile().delete());
+        }
+        Files.deleteIfExists(spoolDir);
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key로 다시 보내면 새 작업을 만들지 않고 기존 작업을 돌려준다")
+    void duplicateKeyReturnsSameJob() throws IOException {
+        BarcodeUploadJobService.Submission first = service.submit(body("{}"), false, "key-1");
+        BarcodeUploadJobService.Submission second = service.submit(body("{}"), false, "key-1");
+
+        assertThat(first.duplicate()).isFalse();
+        assertThat(second.duplicate()).isTrue();
+        assertThat(second.job()).isSameAs(first.job());
+    }
+
+    @Test
+    @DisplayName("본문 저장에 실패한 접수는 키를 놓아 같은 키로 다시 접수할 수 있다")
+    void failedSpoolReleasesKey() throws IOException {
+        assertThatThrownBy(() -> service.submit(body("x".repeat(2048)), false, "key-1"))
+                .isInstanceOf(PayloadTooLargeException.class);
+
+        BarcodeUploadJobService.Submission retry = service.submit(body("{}"), false, "key-1");
+
+        assertThat(retry.duplicate()).isFalse();
+        assertThat(service.getJob(retry.job().getJobId())).isSameAs(retry.job());
+    }
+
+    @Test
+    @DisplayName("접수 중인 키의 중복 요청은 결과를 기다리고, 앞선 접수가 실패하면 직접 접수한다")
+    void concurrentDuplicateWaitsForFirstSubmission() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch failRead = new CountDownLatch(1);
+        InputStream brokenBody = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                reading.countDown();
+                try {
+                    failRead.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("client disconnected");
+            }
+        };
+        CompletableFuture<Throwable> first = CompletableFuture.supplyAsync(() -> {
+            try {
+                service.submit(brokenBody, false, "key-1");
+                return null;
+            } catch (Exception e) {
+                return e;
+            }
+        });
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<BarcodeUploadJobService.Submission> duplicate = CompletableFuture.supplyAsync(() -> {
+            try {
+                return service.submit(body("{}"), false, "key-1");
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertThat(duplicate).isNotDone();
+
+        failRead.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isInstanceOf(IOException.class);
+        BarcodeUploadJobService.Submission submission = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(submission.duplicate()).isFalse();
+        assertThat(service.getJob(submission.job().getJobId())).isSameAs(submission.job());
+    }
+
+    @Test
+    @DisplayName("종료 시 시작하지 않은 작업은 실패로 표시하고 임시 파일을 지운다")
+    void shutdownFailsQueuedJobsAndDeletesSpools() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        when(bulkIngestService.ingest(any(), anyBoolean(), any())).thenAnswer(invocation -> {
+            running.countDown();
+            new CountDownLatch(1).await();
+            return new BulkIngestResult();
+        });
+        service.submit(body("{}"), false, null);
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        BarcodeUploadJob queued = service.submit(body("{}"), false, null).job();
+
+        service.shutdown();
+
+        assertThat(queued.getState()).isEqualTo(BarcodeUploadJob.State.FAILED);
+        try (Stream<Path> files = Files.list(spoolDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
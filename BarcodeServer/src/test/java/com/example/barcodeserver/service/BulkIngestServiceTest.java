@@ -0,0 +1,90 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.dto.BulkIngestResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+class BulkIngestServiceTest {
+
+    private BulkIngestService service;
+    private final List<String> stored = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Validator validator = mock(Validator.class);
+        when(validator.validate(any())).thenReturn(Set.of());
+
+        service = spy(new BulkIngestService());
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(service, "validator", validator);
+        ReflectionTestUtils.setField(service, "statsService", mock(BarcodeStatsService.class));
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "chunkSize", 1000);
+        ReflectionTestUtils.setField(service, "maxRowErrors", 100);
+        doAnswer(invocation -> {
+            List<BarcodeDto> chunk = invocation.getArgument(0);
+            chunk.forEach(barcode -> stored.add(barcode.getBarcodeValue()));
+            return chunk.size();
+        }).when(service).insertChunk(anyList(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("필드 타입이 맞지 않는 행은 행 오류로 기록하고 다음 행을 계속 적재한다")
+    void bindingErrorIsRowError() {
+        String ndjson = """
+                {"barcodeValue":"A1","barcodeType":"QR"}
+                {"barcodeValue":{"nested":true},"barcodeType":"QR"}
+                {"barcodeValue":"A3","barcodeType":"QR"}
+                """;
+
+        BulkIngestResult result = ingest(ndjson);
+
+        assertThat(result.isCompleted()).isTrue();
+        assertThat(result.getTotalRows()).isEqualTo(3);
+        assertThat(result.getInsertedRows()).isEqualTo(2);
+        assertThat(result.getFailedRows()).isEqualTo(1);
+        assertThat(result.getRowErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getRow()).isEqualTo(1));
+        assertThat(stored).containsExactly("A1", "A3");
+    }
+
+    @Test
+    @DisplayName("JSON 문법 오류는 그 전까지만 적재하고 중단한다")
+    void syntaxErrorAbortsIngest() {
+        String ndjson = """
+                {"barcodeValue":"A1","barcodeType":"QR"}
+                {"barcodeValue":"A2","barcodeType":
+                """;
+
+        BulkIngestResult result = ingest(ndjson);
+
+        assertThat(result.isCompleted()).isFalse();
+        assertThat(result.getMessage()).startsWith("Malformed input at row 1");
+        assertThat(stored).containsExactly("A1");
+    }
+
+    private BulkIngestResult ingest(String body) {
+        return service.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), false);
+    }
+}
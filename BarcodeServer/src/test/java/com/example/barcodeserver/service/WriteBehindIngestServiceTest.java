@@ -0,0 +1,102 @@
+package com.example.barcodeserver.service;
+
+import com.example.barcodeserver.dto.BarcodeDto;
+import com.example.barcodeserver.mapper.BarcodeMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WriteBehindIngestServiceTest {
+
+    private WriteBehindIngestService service;
+    private BulkIngestService bulkIngestService;
+    private Path recoveryDir;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        recoveryDir = Files.createTempDirectory("write-behind-test");
+        bulkIngestService = mock(BulkIngestService.class);
+
+        service = new WriteBehindIngestService();
+        ReflectionTestUtils.setField(service, "bulkIngestService", bulkIngestService);
+        ReflectionTestUtils.setField(service, "barcodeMapper", mock(BarcodeMapper.class));
+        ReflectionTestUtils.setField(service, "existenceIndex", mock(BarcodeExistenceIndex.class));
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "queueCapacity", 100);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(service, "maxRetries", 2);
+        ReflectionTestUtils.setField(service, "retryBackoffMs", 1L);
+        ReflectionTestUtils.setField(service, "shutdownTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(service, "recoveryDir", recoveryDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        service.stop();
+        try (Stream<Path> files = Files.list(recoveryDir)) {
+            files.forEach(file -> file.toFile().delete());
+        }
+        Files.deleteIfExists(recoveryDir);
+    }
+
+    @Test
+    @DisplayName("일시적인 저장 실패는 같은 묶음을 다시 저장한다")
+    void transientFailureIsRetried() throws IOException {
+        when(bulkIngestService.insertChunk(anyList(), anyBoolean()))
+                .thenThrow(new CannotAcquireLockException("Deadlock found"))
+                .thenReturn(2);
+        service.start();
+
+        service.enqueue(new BarcodeDto("A1", "QR"));
+        service.enqueue(new BarcodeDto("A2", "QR"));
+        service.stop();
+
+        verify(bulkIngestService, times(2)).insertChunk(anyList(), anyBoolean());
+        assertThat(service.getStats()).containsEntry("written", 2L).containsEntry("retries", 1L).containsEntry("failed", 0L);
+        assertThat(recoveryFiles()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("재시도를 모두 실패한 묶음은 버리지 않고 복구 파일로 남긴다")
+    void exhaustedRetriesSpillToRecoveryFile() throws IOException {
+        when(bulkIngestService.insertChunk(anyList(), anyBoolean()))
+                .thenThrow(new CannotAcquireLockException("Lock wait timeout exceeded"));
+        service.start();
+
+        service.enqueue(new BarcodeDto("A1", "QR"));
+        service.stop();
+
+        verify(bulkIngestService, times(3)).insertChunk(anyList(), anyBoolean());
+        assertThat(service.getStats()).containsEntry("failed", 1L);
+        assertThat(recoveryFiles()).singleElement()
+                .satisfies(file -> assertThat(Files.readString(file)).contains("\"barcodeValue\":\"A1\""));
+    }
+
+    private List<Path> recoveryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(recoveryDir)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("write-behind-unsaved-")).toList();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+#!/usr/bin/env bash
+# 기동 시간 비교: 프로세스 시작부터 첫 요청(GET /api/barcodes/stats/count) 성공까지의 시간과 RSS를 측정합니다.
+# 사용: ./startup/benchmark.sh [RUNS]   (BarcodeServer 디렉터리에서 실행, DB 환경변수 필요)
+# 먼저 ./startup/build-faststart.sh 로 AOT jar와 CDS 아카이브를 만들어 둡니다.
+# 모드: baseline(현재 기본 기동), faststart(지연 초기화 + Swagger 끔), faststart-aot-cds(+ AOT + AppCDS)
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-9830}"
+OUT=build/faststart
+APP_JAR="$(ls ${OUT}/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+URL="http://localhost:${PORT}/api/barcodes/stats/count"
+RESULT=startup/results/startup-$(date +%Y%m%d-%H%M%S).csv
+
+mkdir -p startup/results
+echo "mode,run,timeToFirstRequestMs,rssAtFirstRequestKb,rssAfter30sKb" > "${RESULT}"
+
+measure() {
+  local mode="$1" run="$2"
+  shift 2
+  local start end pid ttfr rss_first rss_settled
+  start=$(date +%s%N)
+  "$@" --server.port="${PORT}" > "startup/results/${mode}-${run}.log" 2>&1 &
+  pid=$!
+  until curl -sf "${URL}" > /dev/null; do
+    if ! kill -0 "${pid}" 2>/dev/null; then
+      echo "${mode} 기동 실패: startup/results/${mode}-${run}.log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  end=$(date +%s%N)
+  ttfr=$(( (end - start) / 1000000 ))
+  rss_first=$(ps -o rss= -p "${pid}" | tr -d ' ')
+  # 백그라운드 워밍업과 JIT가 끝난 뒤의 상주 메모리
+  sleep 30
+  rss_settled=$(ps -o rss= -p "${pid}" | tr -d ' ')
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  echo "${mode},${run},${ttfr},${rss_first},${rss_settled}" >> "${RESULT}"
+  echo "${mode} #${run}: 첫 요청까지 ${ttfr}ms, RSS ${rss_first}KB -> ${rss_settled}KB"
+}
+
+for run in $(seq 1 "${RUNS}"); do
+  measure baseline "${run}" java -jar "${APP_JAR}"
+  measure faststart "${run}" java -jar "${APP_JAR}" --spring.profiles.active=faststart
+  measure faststart-aot-cds "${run}" java -XX:SharedArchiveFile="${OUT}/app.jsa" -Dspring.aot.enabled=true \
+    -jar "${APP_JAR}" --spring.profiles.active=faststart
+done
+
+echo "모드별 중앙값 (첫 요청까지 ms / 첫 요청 시 RSS KB / 30초 후 RSS KB):"
+median() {
+  awk -F, -v m="$1" -v c="$2" 'NR > 1 && $1 == m {print $c}' "${RESULT}" | sort -n \
+    | awk '{v[NR] = $1} END {print v[int((NR + 1) / 2)]}'
+}
+for mode in baseline faststart faststart-aot-cds; do
+  echo "  ${mode}: $(median "${mode}" 3) / $(median "${mode}" 4) / $(median "${mode}" 5)"
+done
+echo "결과: ${RESULT}"
@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# 빠른 기동용 배포물 생성: AOT 처리된 jar를 풀어(extract) 두고 AppCDS 아카이브를 만듭니다.
+# 사용: ./startup/build-faststart.sh   (BarcodeServer 디렉터리에서 실행, DB 연결 불필요)
+# 결과: build/faststart/<jar>, build/faststart/lib/, build/faststart/app.jsa
+set -euo pipefail
+
+OUT=build/faststart
+
+./gradlew -q clean bootJar -Paot
+JAR="$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)"
+
+# CDS는 클래스패스의 jar 파일 단위로 동작하므로 중첩 jar 대신 풀어 둔 구조로 실행합니다
+java -Djarmode=tools -jar "${JAR}" extract --destination "${OUT}" --force
+APP_JAR="${OUT}/$(basename "${JAR}")"
+
+# 학습 실행: 컨텍스트 refresh 직후 종료하면서 로드된 클래스를 아카이브에 기록합니다.
+# 지연 초기화를 끄고 실행해야 요청 처리에 쓰이는 클래스까지 아카이브에 들어갑니다 (Hikari는 연결하지 않음).
+java -XX:ArchiveClassesAtExit="${OUT}/app.jsa" \
+  -Dspring.aot.enabled=true \
+  -Dspring.context.exit=onRefresh \
+  -jar "${APP_JAR}" \
+  --spring.profiles.active=faststart \
+  --spring.main.lazy-initialization=false \
+  --server.port=0
+
+echo "실행: java -XX:SharedArchiveFile=${OUT}/app.jsa -Dspring.aot.enabled=true -jar ${APP_JAR} --spring.profiles.active=prod,faststart"
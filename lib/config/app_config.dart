@@ -21,4 +21,16 @@ class AppConfig {
   static String get apiPath => '/api/barcodes';
   
   static Duration get timeout => const Duration(seconds: 30);
+
+  // 서버 app.batch.maxSize와 같은 값, 초과하면 비동기 업로드 작업(/jobs)으로 전송
+  static const int maxBatchSize = 100;
+
+  // 서버 app.exists.maxValues(기본 5000) 이하, 업로드 전 중복 확인 요청 한 번에 담을 값 수
+  static const int existsCheckBatchSize = 1000;
+
+  static const int jobSubmitAttempts = 3;
+
+  static Duration get jobPollInterval => const Duration(seconds: 1);
+
+  static Duration get jobTimeout => const Duration(minutes: 10);
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
+import 'dart:async';
 import 'dart:convert';
 import 'dart:io';
+import 'dart:math';
 import 'package:http/http.dart' as http;
 import 'package:flutter/foundation.dart';
 import 'package:device_info_plus/device_info_plus.dart';
+import 'package:shared_preferences/shared_preferences.dart';
 import '../models/api_response.dart';
 import '../models/barcode_item.dart';
 import 'package:mobile_scanner/mobile_scanner.dart';
@@ -13,6 +16,47 @@ class BarcodeApiService {
   static String get apiPath => AppConfig.apiPath;
   static Duration get timeout => AppConfig.timeout;
 
+  static const String _clientIdKey = 'client_id';
+  static String? _clientId;
+
+  /// 다중 생성 요청을 열 단위 형식으로 변환 (barcodeTypes/phoneModels 사전 + 행별 인덱스)
+  static Map<String, dynamic> _toColumnarBatch(List<Map<String, dynamic>> barcodeDtos) {
+    final barcodeTypes = <String>[];
+    final phoneModels = <String>[];
+    final typeIndexes = <int>[];
+    final phoneModelIndexes = <int>[];
+
+    for (final dto in barcodeDtos) {
+      final type = dto['barcodeType'] as String;
+      var typeIndex = barcodeTypes.indexOf(type);
+      if (typeIndex < 0) {
+        typeIndex = barcodeTypes.length;
+        barcodeTypes.add(type);
+      }
+      typeIndexes.add(typeIndex);
+
+      final phoneModel = dto['phoneModel'] as String?;
+      if (phoneModel == null) {
+        phoneModelIndexes.add(-1);
+      } else {
+        var modelIndex = phoneModels.indexOf(phoneModel);
+        if (modelIndex < 0) {
+          modelIndex = phoneModels.length;
+          phoneModels.add(phoneModel);
+        }
+        phoneModelIndexes.add(modelIndex);
+      }
+    }
+
+    return {
+      'barcodeValues': barcodeDtos.map((dto) => dto['barcodeValue']).toList(),
+      'barcodeTypes': barcodeTypes,
+      'typeIndexes': typeIndexes,
+      'phoneModels': phoneModels,
+      'phoneModelIndexes': phoneModelIndexes,
+    };
+  }
+
   /// 바코드 타입을 API 형식으로 변환
   static String _mapBarcodeFormat(BarcodeFormat format) {
     switch (format) {
@@ -127,6 +171,7 @@ class BarcodeApiService {
       final url = Uri.parse('$baseUrl$apiPath/batch');
       
       final deviceModel = await _getDeviceModel();
+      final clientId = await _getClientId();
       final barcodeDtos = <Map<String, dynamic>>[];
       
       for (int i = 0; i < items.length; i++) {
@@ -177,18 +222,40 @@ class BarcodeApiService {
         throw Exception('모든 바코드 데이터 처리에 실패했습니다.');
       }
       
-      debugPrint('전송할 아이템 수: ${barcodeDtos.length}');
+      // 서버에 이미 있는 값은 미리 빼서 전송량을 줄이고, 배치 전체가 409로 실패하지 않도록 함
+      final uploadDtos = await _excludeExistingBarcodes(barcodeDtos);
+      if (uploadDtos.isEmpty) {
+        return ApiResponse<List<BarcodeDto>>(
+          success: true,
+          message: '모든 바코드가 이미 서버에 저장되어 있습니다',
+          count: 0,
+          data: [],
+        );
+      }
+
+      debugPrint('전송할 아이템 수: ${uploadDtos.length} (중복 제외 ${barcodeDtos.length - uploadDtos.length}건)');
+
+      // 서버 배치 한도를 넘는 대량 업로드는 비동기 작업으로 등록하고 완료될 때까지 상태를 조회
+      if (uploadDtos.length > AppConfig.maxBatchSize) {
+        return await _uploadAsJob(uploadDtos, deviceModel, clientId);
+      }
 
+      // 타입/휴대폰 모델을 사전으로 한 번만 담는 열 단위 형식을 gzip으로 압축해서 전송
+      final body = gzip.encode(utf8.encode(jsonEncode(_toColumnarBatch(uploadDtos))));
       final response = await http.post(
         url,
         headers: {
-          'Content-Type': 'application/json',
+          'Content-Type': 'application/vnd.barcode.columnar+json',
+          'Content-Encoding': 'gzip',
+          // 서버의 클라이언트별 동시성 한도 기준 (X-Phone-Model은 X-Client-Id가 없는 구버전 호환용)
+          'X-Client-Id': clientId,
+          'X-Phone-Model': deviceModel,
         },
-        body: jsonEncode(barcodeDtos),
+        body: body,
       ).timeout(timeout);
 
-      debugPrint('API Request: POST $url');
-      debugPrint('Request Body: ${jsonEncode(barcodeDtos)}');
+      debugPrint('API Request: POST $url (${body.length} bytes gzip)');
+      debugPrint('Request Body: ${jsonEncode(uploadDtos)}');
       debugPrint('Individual barcode data:');
       for (int i = 0; i < items.length; i++) {
         debugPrint('  [$i] Value: "${items[i].code}" (length: ${items[i].code.length})');
@@ -256,6 +323,152 @@ class BarcodeApiService {
     }
   }
 
+  /// 대량 업로드를 작업으로 등록(202)한 뒤 완료될 때까지 진행 상황을 조회
+  /// 업로드마다 만든 Idempotency-Key로 재전송하므로 접수 응답이 시간 초과되어도 작업이 중복 생성되지 않음
+  static Future<ApiResponse<List<BarcodeDto>>> _uploadAsJob(
+      List<Map<String, dynamic>> barcodeDtos, String deviceModel, String clientId) async {
+    final idempotencyKey =
+        '${DateTime.now().microsecondsSinceEpoch}-${Random().nextInt(1 << 30)}-${barcodeDtos.length}';
+    final body = gzip.encode(utf8.encode(barcodeDtos.map(jsonEncode).join('\n')));
+    final submitUrl = Uri.parse('$baseUrl$apiPath/jobs?mode=upsert');
+    final headers = {
+      'Content-Type': 'application/x-ndjson',
+      'Content-Encoding': 'gzip',
+      'Idempotency-Key': idempotencyKey,
+      'X-Client-Id': clientId,
+      'X-Phone-Model': deviceModel,
+    };
+
+    debugPrint('API Request: POST $submitUrl (${body.length} bytes gzip, ${barcodeDtos.length} items)');
+
+    http.Response response;
+    for (var attempt = 1; ; attempt++) {
+      try {
+        response = await http.post(submitUrl, headers: headers, body: body).timeout(timeout);
+        if (response.statusCode != 503 || attempt >= AppConfig.jobSubmitAttempts) {
+          break;
+        }
+        final retryAfter = int.tryParse(response.headers['retry-after'] ?? '') ?? 5;
+        await Future.delayed(Duration(seconds: retryAfter));
+      } on TimeoutException {
+        if (attempt >= AppConfig.jobSubmitAttempts) {
+          rethrow;
+        }
+        debugPrint('작업 등록 응답 시간 초과, 같은 키로 재전송 ($attempt/${AppConfig.jobSubmitAttempts})');
+      }
+    }
+
+    debugPrint('Response Status: ${response.statusCode}');
+    debugPrint('Response Body: ${response.body}');
+
+    final responseData = jsonDecode(response.body);
+    if (response.statusCode != 202) {
+      return ApiResponse<List<BarcodeDto>>(
+        success: false,
+        message: responseData['message'] ?? 'HTTP Error: ${response.statusCode}',
+      );
+    }
+
+    final jobId = responseData['data']['jobId'];
+    final jobUrl = Uri.parse('$baseUrl$apiPath/jobs/$jobId');
+    final deadline = DateTime.now().add(AppConfig.jobTimeout);
+
+    while (DateTime.now().isBefore(deadline)) {
+      await Future.delayed(AppConfig.jobPollInterval);
+      try {
+        final poll = await http.get(jobUrl).timeout(timeout);
+        final pollData = jsonDecode(poll.body);
+        if (poll.statusCode != 200) {
+          return ApiResponse<List<BarcodeDto>>(
+            success: false,
+            message: pollData['message'] ?? 'HTTP Error: ${poll.statusCode}',
+          );
+        }
+
+        final job = pollData['data'];
+        debugPrint('업로드 작업 $jobId: ${job['state']} ${job['processedRows']}행 처리 (${job['rowsPerSecond']}행/초)');
+        if (job['state'] == 'COMPLETED' || job['state'] == 'FAILED') {
+          final failedRows = job['failedRows'] ?? 0;
+          return ApiResponse<List<BarcodeDto>>(
+            success: job['state'] == 'COMPLETED' && failedRows == 0,
+            message: job['message'] ?? '업로드 완료: ${job['insertedRows']}건 저장, $failedRows건 실패',
+            count: job['insertedRows'],
+            data: [],
+          );
+        }
+      } on TimeoutException {
+        // 상태 조회는 다음 주기에 다시 시도
+        debugPrint('업로드 작업 $jobId 상태 조회 시간 초과');
+      }
+    }
+
+    return ApiResponse<List<BarcodeDto>>(
+      success: false,
+      message: '업로드 작업이 아직 진행 중입니다 (작업 ID: $jobId)',
+    );
+  }
+
+  /// 목록 안의 중복 값과 서버에 이미 저장된 값을 제외
+  /// 존재 확인에 실패하면 목록 안의 중복만 제외하고 그대로 전송 (서버가 업로드 시점에 다시 판정)
+  static Future<List<Map<String, dynamic>>> _excludeExistingBarcodes(
+      List<Map<String, dynamic>> barcodeDtos) async {
+    final seen = <String>{};
+    final unique = barcodeDtos.where((dto) => seen.add(dto['barcodeValue'] as String)).toList();
+    final values = unique.map((dto) => dto['barcodeValue'] as String).toList();
+
+    final existing = <String>{};
+    for (var start = 0; start < values.length; start += AppConfig.existsCheckBatchSize) {
+      final end = min(start + AppConfig.existsCheckBatchSize, values.length);
+      final result = await checkExistingBarcodes(values.sublist(start, end));
+      if (!result.success || result.data == null) {
+        debugPrint('중복 확인 실패, 확인 없이 전송: ${result.message}');
+        return unique;
+      }
+      existing.addAll(result.data!);
+    }
+    return unique.where((dto) => !existing.contains(dto['barcodeValue'])).toList();
+  }
+
+  /// 여러 바코드 값의 서버 존재 여부를 한 번에 확인 (업로드 전 중복 제거용)
+  static Future<ApiResponse<Set<String>>> checkExistingBarcodes(List<String> values) async {
+    try {
+      final url = Uri.parse('$baseUrl$apiPath/exists');
+
+      final response = await http.post(
+        url,
+        headers: {
+          'Content-Type': 'application/json',
+        },
+        body: jsonEncode({'barcodeValues': values}),
+      ).timeout(timeout);
+
+      debugPrint('API Request: POST $url (${values.length} values)');
+      debugPrint('Response Status: ${response.statusCode}');
+
+      final responseData = jsonDecode(response.body);
+
+      if (response.statusCode == 200) {
+        final List<dynamic> existing = responseData['data'] ?? [];
+        return ApiResponse<Set<String>>(
+          success: responseData['success'] ?? true,
+          data: existing.map((value) => value.toString()).toSet(),
+          count: responseData['count'],
+        );
+      } else {
+        return ApiResponse<Set<String>>(
+          success: false,
+          message: responseData['message'] ?? 'Unknown error',
+        );
+      }
+    } catch (e) {
+      debugPrint('API Error: $e');
+      return ApiResponse<Set<String>>(
+        success: false,
+        message: 'Network error: $e',
+      );
+    }
+  }
+
   /// 전체 바코드 조회 (페이징 지원)
   static Future<ApiResponse<List<BarcodeDto>>> getAllBarcodes({int page = 0, int size = 50}) async {
     try {
@@ -386,6 +599,32 @@ class BarcodeApiService {
     }
   }
 
+  /// 설치마다 한 번 만들어 저장해 두는 임의의 클라이언트 ID (서버의 클라이언트별 동시성 한도 기준)
+  /// 같은 모델의 기기끼리 한도를 나눠 쓰지 않도록 기기 모델 대신 사용
+  static Future<String> _getClientId() async {
+    if (_clientId != null) {
+      return _clientId!;
+    }
+    try {
+      final prefs = await SharedPreferences.getInstance();
+      var clientId = prefs.getString(_clientIdKey);
+      if (clientId == null) {
+        clientId = _newClientId();
+        await prefs.setString(_clientIdKey, clientId);
+      }
+      return _clientId = clientId;
+    } catch (e) {
+      debugPrint('Client id error: $e');
+      // 저장소를 쓸 수 없으면 앱 실행 동안만 유지되는 ID 사용
+      return _clientId = _newClientId();
+    }
+  }
+
+  static String _newClientId() {
+    final random = Random.secure();
+    return List.generate(16, (_) => random.nextInt(256).toRadixString(16).padLeft(2, '0')).join();
+  }
+
   /// 디바이스 모델 정보 가져오기
   static Future<String> _getDeviceModel() async {
     try {